@@ -8,7 +8,6 @@
  */
 
 public class Arc {
-    private String id = "";
     private double cost;
     private int src = -1;
     private int dst = -1;
@@ -58,6 +57,51 @@ public class Arc {
 	}
     }
 
+    /**
+     * Retorna un codigo hash consistente con equals: depende solo del
+     * fuente y el destino del arco.
+     *
+     * @return codigo hash de este Arc
+     */
+    @Override
+    public int hashCode() {
+	return 31*src + dst;
+    }
+
+    /**
+     * Codifica el arco (src,dst) en un long, sin crear un objeto Arc: el
+     * fuente en los 32 bits altos y el destino en los 32 bajos. Para
+     * nodos no negativos, ordenar los long ordena los arcos por fuente y
+     * luego por destino.
+     *
+     * @param src nodo origen del arco
+     * @param dst nodo destino del arco
+     * @return el arco codificado
+     */
+    public static long pack(int src, int dst) {
+	return ((long) src << 32) | (dst & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retorna el origen de un arco codificado con pack
+     *
+     * @param arco el arco codificado
+     * @return origen del arco
+     */
+    public static int source(long arco) {
+	return (int) (arco >>> 32);
+    }
+
+    /**
+     * Retorna el destino de un arco codificado con pack
+     *
+     * @param arco el arco codificado
+     * @return destino del arco
+     */
+    public static int destination(long arco) {
+	return (int) arco;
+    }
+
     /**
      * Pertmite obtener el costo de un arco: de ir de archo fuente al arco
      * destino.
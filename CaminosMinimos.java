@@ -0,0 +1,194 @@
+/**
+ * CaminosMinimos calcula caminos de costo minimo desde un nodo con el
+ * algoritmo de Dijkstra, usando como costo de cada arco el getCost() de
+ * los Arc del grafo. Sirve para consultas como el camino de
+ * prerequisitos mas barato hasta un curso, sin calcular la clausura de
+ * todos los pares.
+ *
+ * Al construirlo se copian los arcos y sus costos a arreglos primitivos
+ * en formato CSR; los cambios posteriores del grafo no se ven. La cola de
+ * prioridad es un MonticuloIndexado con disminucion de clave, y las
+ * distancias se guardan en un arreglo de double que no se reinicia entre
+ * consultas: un nodo tiene distancia valida solo si su marca es la de la
+ * consulta actual. Asi una consulta de un nodo a otro, que se detiene al
+ * sacar el destino del monticulo, cuesta solo lo que explora.
+ *
+ * Dijkstra no admite costos negativos; si el grafo tiene alguno las
+ * consultas retornan null o NaN. Las consultas reutilizan arreglos
+ * internos, asi que un mismo objeto no debe consultarse desde varios
+ * hilos a la vez.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class CaminosMinimos {
+
+    private final int numNodes;
+    // sucesores de cada nodo en formato CSR, con el costo de cada arco
+    private final int inicio[];
+    private final int destinos[];
+    private final double costos[];
+    // true si algun arco tiene costo negativo o NaN
+    private final boolean costosInvalidos;
+
+    private final MonticuloIndexado cola;
+    private final double distancia[];
+    // predecesor[v] es el nodo anterior a v en el camino minimo
+    private final int predecesor[];
+    // marca[v]==consulta si distancia[v] y predecesor[v] son de la
+    // consulta actual
+    private final int marca[];
+    private int consulta = 0;
+    // origen de la ultima consulta y si llego a recorrer todo el grafo
+    private int ultimoOrigen = -1;
+    private boolean completa = false;
+
+    /**
+     * Precondicion: g es distinto de null.
+     * Copia los arcos de g y sus costos. El grafo g no se modifica.
+     *
+     * @param g el grafo
+     */
+    public CaminosMinimos(DiGraph g) {
+	numNodes = g.getNumberOfNodes();
+	inicio = new int[numNodes+1];
+	for (int v=0; v<numNodes; v++) {
+	    inicio[v+1] = inicio[v] + g.getOutDegree(v);
+	}
+	destinos = new int[inicio[numNodes]];
+	costos = new double[inicio[numNodes]];
+	boolean invalidos = false;
+	for (int v=0; v<numNodes; v++) {
+	    List<Arc> arcos = g.getOutEdgesView(v);
+	    int p = inicio[v];
+	    for (int j=0; j<arcos.size(); j++, p++) {
+		Arc arco = arcos.get(j);
+		destinos[p] = arco.getDestination();
+		costos[p] = arco.getCost();
+		invalidos = invalidos || !(costos[p] >= 0);
+	    }
+	}
+	costosInvalidos = invalidos;
+
+	cola = new MonticuloIndexado(numNodes);
+	distancia = new double[numNodes];
+	predecesor = new int[numNodes];
+	marca = new int[numNodes];
+    }
+
+    /**
+     * Retorna el costo minimo de un camino de origen a destino. La
+     * busqueda se detiene en cuanto se fija la distancia de destino.
+     *
+     * @param origen nodo de partida
+     * @param destino nodo de llegada
+     * @return el costo minimo, Double.POSITIVE_INFINITY si no hay camino,
+     * NaN si algun nodo no es valido o el grafo tiene costos negativos
+     */
+    public double distancia(int origen, int destino) {
+	if (!this.buscar(origen, destino)) {
+	    return Double.NaN;
+	}
+	return marca[destino]==consulta ? distancia[destino]
+					: Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Retorna un camino de costo minimo de origen a destino. La busqueda
+     * se detiene en cuanto se fija la distancia de destino.
+     *
+     * @param origen nodo de partida
+     * @param destino nodo de llegada
+     * @return los nodos del camino, de origen a destino; null si no hay
+     * camino, algun nodo no es valido o el grafo tiene costos negativos
+     */
+    public int[] camino(int origen, int destino) {
+	if (!this.buscar(origen, destino) || marca[destino]!=consulta) {
+	    return null;
+	}
+	int largo = 1;
+	for (int v=destino; v!=origen; v=predecesor[v]) {
+	    largo++;
+	}
+	int nodos[] = new int[largo];
+	int v = destino;
+	for (int i=largo-1; i>=0; i--) {
+	    nodos[i] = v;
+	    v = predecesor[v];
+	}
+	return nodos;
+    }
+
+    /**
+     * Retorna los costos minimos desde origen a todos los nodos
+     *
+     * @param origen nodo de partida
+     * @return arreglo con el costo minimo a cada nodo,
+     * Double.POSITIVE_INFINITY para los que no se alcanzan; null si origen
+     * no es valido o el grafo tiene costos negativos
+     */
+    public double[] distancias(int origen) {
+	if (!this.buscar(origen, -1)) {
+	    return null;
+	}
+	double salida[] = new double[numNodes];
+	for (int v=0; v<numNodes; v++) {
+	    salida[v] = marca[v]==consulta ? distancia[v] : Double.POSITIVE_INFINITY;
+	}
+	return salida;
+    }
+
+    /**
+     * Dijkstra desde origen hasta fijar la distancia de destino, o hasta
+     * agotar lo alcanzable si destino es -1. Si la consulta anterior fue
+     * desde el mismo origen y ya fijo a destino, la reutiliza.
+     *
+     * @return false si origen o destino no son validos o hay costos
+     * negativos
+     */
+    private boolean buscar(int origen, int destino) {
+	if (costosInvalidos || origen<0 || origen>=numNodes
+	    || destino<-1 || destino>=numNodes) {
+	    return false;
+	}
+	if (origen==ultimoOrigen && (completa
+	    || (destino>=0 && marca[destino]==consulta && !cola.contains(destino)))) {
+	    return true;
+	}
+
+	consulta++;
+	cola.clear();
+	ultimoOrigen = origen;
+	completa = false;
+	marca[origen] = consulta;
+	distancia[origen] = 0;
+	predecesor[origen] = -1;
+	cola.insertar(origen, 0);
+
+	while (!cola.isEmpty()) {
+	    int v = cola.extraerMin();
+	    if (v==destino) {
+		return true;
+	    }
+	    double dv = distancia[v];
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		int w = destinos[p];
+		double dw = dv + costos[p];
+		if (marca[w]!=consulta) {
+		    marca[w] = consulta;
+		    distancia[w] = dw;
+		    predecesor[w] = v;
+		    cola.insertar(w, dw);
+		} else if (dw < distancia[w] && cola.disminuir(w, dw)) {
+		    distancia[w] = dw;
+		    predecesor[w] = v;
+		}
+	    }
+	}
+	completa = true;
+	return true;
+    }
+
+}
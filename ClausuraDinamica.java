@@ -0,0 +1,852 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * ClausuraDinamica es una vista de la clausura transitiva (reflexiva) de
+ * un DiGraph que se mantiene al dia cuando se agregan o eliminan arcos,
+ * sin recalcular Roy-Warshall completo.
+ *
+ * Los arcos de esta vista son los pares (x,y) tales que x alcanza a y en
+ * el grafo envuelto. Las modificaciones hechas con addArc, delArc,
+ * reverseArc, etc. se aplican al grafo envuelto y luego se actualiza la
+ * clausura:
+ * <ul>
+ * <li>al insertar (u,v), cada nodo que alcanza a u pasa a alcanzar todo
+ * lo que alcanza v; solo se tocan los pares nuevos.</li>
+ * <li>al eliminar (u,v), solo pueden cambiar las filas de los nodos que
+ * alcanzaban a u. Esas filas se recalculan con un recorrido sobre el
+ * grafo envuelto que reutiliza las filas de los demas nodos, que siguen
+ * siendo validas.</li>
+ * </ul>
+ *
+ * El grafo envuelto no debe modificarse directamente mientras se use esta
+ * vista.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class ClausuraDinamica extends DiGraph {
+
+    // grafo cuya clausura se mantiene
+    private DiGraph grafo;
+    // alcance[x] tiene el bit y si x alcanza a y
+    private long alcance[][];
+    // alcanzadoPor[y] tiene el bit x si x alcanza a y
+    private long alcanzadoPor[][];
+    // arreglo reutilizable para los sucesores de un nodo del grafo
+    private int sucesores[];
+
+    /**
+     * Precondicion: El grafo de entrada debe ser diferente de null.
+     * Crea la clausura de g. Los cambios posteriores deben hacerse a
+     * traves de esta vista.
+     *
+     * @param g el grafo cuya clausura se mantiene
+     */
+    public ClausuraDinamica(DiGraph g) {
+	this.grafo = g;
+	this.recalcular();
+    }
+
+    /**
+     * Constructor para clone
+     */
+    private ClausuraDinamica() {
+    }
+
+    /**
+     * Numero de palabras de 64 bits necesarias para una fila de n nodos
+     */
+    private static int palabras(int n) {
+	return (n+63)>>>6;
+    }
+
+    /**
+     * Retorna el grafo envuelto por esta vista.
+     *
+     * @return el grafo cuya clausura se mantiene
+     */
+    public DiGraph getGrafo() {
+	return grafo;
+    }
+
+    /**
+     * Calcula la clausura desde cero sobre las componentes fuertemente
+     * conexas: como se numeran en orden topologico, la fila de cada
+     * componente es la union de las filas de sus sucesores, que ya estan
+     * calculadas si se recorren de la ultima a la primera.
+     */
+    private void recalcular() {
+	this.numNodes = grafo.getNumberOfNodes();
+	int p = palabras(numNodes);
+	ComponentesFuertes componentes = new ComponentesFuertes(grafo);
+	DiGraphCSR condensado = componentes.condensar();
+	int c = componentes.getNumberOfComponents();
+
+	long filasComp[][] = new long[c][p];
+	for (int v=0; v<numNodes; v++) {
+	    filasComp[componentes.getComponent(v)][v>>>6] |= 1L << v;
+	}
+	int suc[] = new int[c];
+	for (int a=c-1; a>=0; a--) {
+	    long filaA[] = filasComp[a];
+	    int k = condensado.getSucesors(a, suc);
+	    for (int i=0; i<k; i++) {
+		long filaB[] = filasComp[suc[i]];
+		for (int w=0; w<p; w++) {
+		    filaA[w] |= filaB[w];
+		}
+	    }
+	}
+
+	alcance = new long[numNodes][];
+	alcanzadoPor = new long[numNodes][p];
+	numArcs = 0;
+	for (int x=0; x<numNodes; x++) {
+	    long fila[] = filasComp[componentes.getComponent(x)].clone();
+	    alcance[x] = fila;
+	    for (int w=0; w<p; w++) {
+		long bits = fila[w];
+		numArcs += Long.bitCount(bits);
+		while (bits != 0) {
+		    int y = (w<<6) + Long.numberOfTrailingZeros(bits);
+		    alcanzadoPor[y][x>>>6] |= 1L << x;
+		    bits &= bits-1;
+		}
+	    }
+	}
+	sucesores = new int[numNodes];
+    }
+
+    /**
+     * Deja la clausura de un grafo sin arcos: cada nodo se alcanza solo
+     * a si mismo.
+     */
+    private void identidad() {
+	int p = palabras(numNodes);
+	alcance = new long[numNodes][p];
+	alcanzadoPor = new long[numNodes][p];
+	for (int x=0; x<numNodes; x++) {
+	    alcance[x][x>>>6] = 1L << x;
+	    alcanzadoPor[x][x>>>6] = 1L << x;
+	}
+	numArcs = numNodes;
+    }
+
+    /**
+     * Actualiza la clausura despues de insertar el arco (u,v) en el grafo:
+     * cada x que alcanza a u y no alcanzaba a v recibe la fila de v.
+     */
+    private void insertar(int u, int v) {
+	if ((alcance[u][v>>>6] & (1L << v)) != 0)
+	    return;
+
+	long filaV[] = alcance[v];
+	int wv = v>>>6;
+	long mascaraV = 1L << v;
+	long ancestros[] = alcanzadoPor[u];
+	for (int wx=0; wx<ancestros.length; wx++) {
+	    long bitsX = ancestros[wx];
+	    while (bitsX != 0) {
+		int x = (wx<<6) + Long.numberOfTrailingZeros(bitsX);
+		bitsX &= bitsX-1;
+		long filaX[] = alcance[x];
+		if ((filaX[wv] & mascaraV) != 0) {
+		    continue;
+		}
+		for (int w=0; w<filaX.length; w++) {
+		    long nuevos = filaV[w] & ~filaX[w];
+		    if (nuevos == 0) {
+			continue;
+		    }
+		    filaX[w] |= nuevos;
+		    numArcs += Long.bitCount(nuevos);
+		    while (nuevos != 0) {
+			int y = (w<<6) + Long.numberOfTrailingZeros(nuevos);
+			alcanzadoPor[y][x>>>6] |= 1L << x;
+			nuevos &= nuevos-1;
+		    }
+		}
+	    }
+	}
+    }
+
+    /**
+     * Actualiza la clausura despues de eliminar el arco (u,v) del grafo.
+     * Solo se recalculan las filas de los nodos que alcanzaban a u; si u
+     * sigue alcanzando a v la clausura no cambia.
+     */
+    private void eliminar(int u, int v) {
+	if (u==v)
+	    return;
+
+	long afectados[] = alcanzadoPor[u].clone();
+	long nuevas[][] = new long[numNodes][];
+	int pila[] = new int[numNodes];
+
+	nuevas[u] = this.calcularFila(u, afectados, nuevas, pila);
+	if ((nuevas[u][v>>>6] & (1L << v)) != 0)
+	    return;
+
+	for (int wx=0; wx<afectados.length; wx++) {
+	    long bitsX = afectados[wx];
+	    while (bitsX != 0) {
+		int x = (wx<<6) + Long.numberOfTrailingZeros(bitsX);
+		bitsX &= bitsX-1;
+		if (nuevas[x]==null) {
+		    nuevas[x] = this.calcularFila(x, afectados, nuevas, pila);
+		}
+	    }
+	}
+
+	for (int wx=0; wx<afectados.length; wx++) {
+	    long bitsX = afectados[wx];
+	    while (bitsX != 0) {
+		int x = (wx<<6) + Long.numberOfTrailingZeros(bitsX);
+		bitsX &= bitsX-1;
+		long vieja[] = alcance[x];
+		long nueva[] = nuevas[x];
+		for (int w=0; w<vieja.length; w++) {
+		    long perdidos = vieja[w] & ~nueva[w];
+		    numArcs -= Long.bitCount(perdidos);
+		    while (perdidos != 0) {
+			int y = (w<<6) + Long.numberOfTrailingZeros(perdidos);
+			alcanzadoPor[y][x>>>6] &= ~(1L << x);
+			perdidos &= perdidos-1;
+		    }
+		}
+		alcance[x] = nueva;
+	    }
+	}
+    }
+
+    /**
+     * Calcula la fila de x en el grafo actual con un recorrido en
+     * profundidad. Al llegar a un nodo fuera de afectados, o a uno cuya
+     * fila nueva ya se calculo, se une su fila en lugar de recorrerlo.
+     */
+    private long[] calcularFila(int x, long afectados[], long nuevas[][],
+				int pila[]) {
+	long fila[] = new long[palabras(numNodes)];
+	fila[x>>>6] |= 1L << x;
+	int tope = 0;
+	pila[tope++] = x;
+
+	while (tope > 0) {
+	    int y = pila[--tope];
+	    int k = grafo.getSucesors(y, sucesores);
+	    for (int i=0; i<k; i++) {
+		int z = sucesores[i];
+		int wz = z>>>6;
+		long mascara = 1L << z;
+		// Si z ya esta en la fila, su alcance ya se incluyo o se
+		// incluira al recorrerlo
+		if ((fila[wz] & mascara) != 0) {
+		    continue;
+		}
+		long filaZ[] = (afectados[wz] & mascara) == 0 ? alcance[z] : nuevas[z];
+		if (filaZ != null) {
+		    for (int w=0; w<fila.length; w++) {
+			fila[w] |= filaZ[w];
+		    }
+		} else {
+		    fila[wz] |= mascara;
+		    pila[tope++] = z;
+		}
+	    }
+	}
+	return fila;
+    }
+
+    /**
+     * Genera una copia de esta vista y del grafo envuelto.
+     * @return una copia de este DiGraph.
+     */
+    @Override
+    public ClausuraDinamica clone() {
+	ClausuraDinamica c = new ClausuraDinamica();
+	c.grafo = (DiGraph) this.grafo.clone();
+	c.numNodes = this.numNodes;
+	c.numArcs = this.numArcs;
+	c.alcance = new long[numNodes][];
+	c.alcanzadoPor = new long[numNodes][];
+	for (int i=0; i<numNodes; i++) {
+	    c.alcance[i] = this.alcance[i].clone();
+	    c.alcanzadoPor[i] = this.alcanzadoPor[i].clone();
+	}
+	c.sucesores = new int[numNodes];
+	return c;
+    }
+
+    /**
+     * Agrega <i>num</i> nodos al grafo envuelto. Cada nodo nuevo solo se
+     * alcanza a si mismo.
+     *
+     * @param num numero de nodos a agregar
+     */
+    public void addNodes(int num) {
+	if (num<=0)
+	    return;
+
+	grafo.addNodes(num);
+	int n = this.numNodes + num;
+	int p = palabras(n);
+	long alcanceAux[][] = new long[n][p];
+	long alcanzadoAux[][] = new long[n][p];
+	for (int i=0; i<n; i++) {
+	    if (i<numNodes) {
+		System.arraycopy(alcance[i], 0, alcanceAux[i], 0, alcance[i].length);
+		System.arraycopy(alcanzadoPor[i], 0, alcanzadoAux[i], 0,
+				 alcanzadoPor[i].length);
+	    } else {
+		alcanceAux[i][i>>>6] = 1L << i;
+		alcanzadoAux[i][i>>>6] = 1L << i;
+	    }
+	}
+	this.numArcs += num;
+	this.numNodes = n;
+	this.alcance = alcanceAux;
+	this.alcanzadoPor = alcanzadoAux;
+	this.sucesores = new int[n];
+    }
+
+    /**
+     * Agrega un arco al grafo envuelto y actualiza la clausura
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return El arco agregado al grafo envuelto, null si no fue agregado
+     */
+    public Arc addArc(int src, int dst) {
+	Arc arco = grafo.addArc(src,dst);
+	if (arco!=null) {
+	    this.insertar(src,dst);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega un arco con costo al grafo envuelto y actualiza la clausura
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @param costo del arco
+     * @return El arco agregado al grafo envuelto, null si no fue agregado
+     */
+    public Arc addArc(int src, int dst, double costo) {
+	Arc arco = grafo.addArc(src,dst,costo);
+	if (arco!=null) {
+	    this.insertar(src,dst);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega varios arcos al grafo envuelto con su addArcs y, si se
+     * agrego alguno, recalcula la clausura completa una sola vez en
+     * lugar de actualizarla por cada arco.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @return numero de arcos agregados al grafo envuelto
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int agregados = grafo.addArcs(src, dst, m);
+	if (agregados > 0) {
+	    this.recalcular();
+	}
+	return agregados;
+    }
+
+    /**
+     * Elimina un arco del grafo envuelto y actualiza la clausura
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     *
+     * @return arco eliminado del grafo envuelto, null si no fue eliminado
+     */
+    public Arc delArc(int nodeIniId, int nodeFinId) {
+	Arc arco = grafo.delArc(nodeIniId,nodeFinId);
+	if (arco!=null) {
+	    this.eliminar(nodeIniId,nodeFinId);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega un arco al grafo envuelto con su insertArc y actualiza la
+     * clausura
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue agregado al grafo envuelto
+     */
+    @Override
+    public boolean insertArc(int src, int dst) {
+	if (!grafo.insertArc(src,dst)) {
+	    return false;
+	}
+	this.insertar(src,dst);
+	return true;
+    }
+
+    /**
+     * Elimina un arco del grafo envuelto con su removeArc y actualiza la
+     * clausura
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     * @return true si el arco fue eliminado del grafo envuelto
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+	if (!grafo.removeArc(nodeIniId,nodeFinId)) {
+	    return false;
+	}
+	this.eliminar(nodeIniId,nodeFinId);
+	return true;
+    }
+
+    /**
+     * Elimina todos los arcos del grafo envuelto. La clausura queda como
+     * la identidad.
+     *
+     * @return lista de arcos eliminados del grafo envuelto
+     */
+    public List<Arc> removeAllArcs() {
+	List<Arc> lista = grafo.removeAllArcs();
+	this.identidad();
+	return lista;
+    }
+
+    /**
+     * Invierte un arco del grafo envuelto y actualiza la clausura. Primero
+     * se inserta el arco invertido, de modo que al eliminar el original la
+     * clausura corresponde al grafo con ambos arcos.
+     *
+     * @param nodeIniId nodo fuente del arco antes de invertirlo
+     * @param nodeFinId nodo destino del arco antes de invertirlo
+     * @return true si el arco fue invertido, false en caso contrario
+     */
+    public boolean reverseArc(int nodeIniId, int nodeFinId) {
+	if (!grafo.reverseArc(nodeIniId,nodeFinId))
+	    return false;
+
+	this.insertar(nodeFinId,nodeIniId);
+	this.eliminar(nodeIniId,nodeFinId);
+	return true;
+    }
+
+    /**
+     * Invierte todos los arcos del grafo envuelto. La clausura del grafo
+     * invertido es la traspuesta, asi que basta intercambiar filas y
+     * columnas.
+     *
+     * @return true si los arcos fueron invertidos, false en caso contrario
+     */
+    public boolean reverseArcs() {
+	if (!grafo.reverseArcs())
+	    return false;
+
+	long aux[][] = alcance;
+	alcance = alcanzadoPor;
+	alcanzadoPor = aux;
+	return true;
+    }
+
+    /**
+     * Carga el grafo contenido en el archivo en el grafo envuelto y
+     * recalcula la clausura.
+     *
+     * @param fileName nombre del archivo que contiene la representacion del
+     * grafo a cargar
+     *
+     * @throws java.io.IOException, FileNotFoundException, NumberFormatException
+     */
+    public void read(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	grafo.read(fileName);
+	this.recalcular();
+    }
+
+    /**
+     * Escribe la clausura en un archivo en el formato establecido en el
+     * enunciado
+     *
+     * @param fileName nombre del archivo donde se escribira la representacion
+     * del grafo
+     *
+     * @throws java.io.IOException
+     */
+    public void write(String fileName) throws IOException {
+	PrintStream out = new PrintStream(fileName);
+	out.print(numNodes + " " + numArcs + "\n");
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = alcance[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    out.print(i + " " + ((w<<6) + Long.numberOfTrailingZeros(bits)) + "\n");
+		    bits &= bits-1;
+		}
+	    }
+	}
+	out.close();
+    }
+
+    /**
+     * Indica si src alcanza a dst en el grafo envuelto
+     *
+     * @param src el id del nodo origen del arco
+     * @param dst el id del nodo destino del arco
+     * @return true si exite un camino desde el nodo src hasta el nodo dst.
+     * false en caso contrario
+     */
+    @Override
+    public boolean isArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return false;
+
+	return (alcance[src][dst>>>6] & (1L << dst)) != 0;
+    }
+
+    /**
+     * Retorna el Arco cuyo nodo fuente es nodoSrc y nodo destino es nodoDst.
+     *
+     * @param nodoSrc nodo fuente
+     * @param nodoDst nodo destino
+     *
+     * @return el arco (nodoSrc,nodoDst). Devuelve null si nodoSrc no
+     * alcanza a nodoDst.
+     */
+    public Arc getArc(int nodoSrc, int nodoDst) {
+	if (this.isArc(nodoSrc,nodoDst)) {
+	    return new Arc(nodoSrc,nodoDst);
+	}
+	return null;
+    }
+
+    /**
+     * Retorna una lista con los nodos cuyos bits estan encendidos en fila
+     */
+    private static List<Integer> nodos(long fila[]) {
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		lista.add((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Copia en destino los nodos cuyos bits estan encendidos en fila
+     */
+    private static int copiarNodos(long fila[], int[] destino) {
+	int k = 0;
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		destino[k++] = (w<<6) + Long.numberOfTrailingZeros(bits);
+		bits &= bits-1;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Visita los nodos cuyos bits estan encendidos en fila
+     */
+    private static void visitarNodos(long fila[], VisitanteNodos visitante) {
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		visitante.visitar((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+    }
+
+    /**
+     * Retorna la lista de nodos que alcanzan a nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     *
+     * @return lista de predecesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getPredecesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	return nodos(alcanzadoPor[nodeId]);
+    }
+
+    /**
+     * Retorna la lista de nodos alcanzados por nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     *
+     * @return lista de sucesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getSucesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	return nodos(alcance[nodeId]);
+    }
+
+    /**
+     * Copia los nodos que alcanzan a nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo con espacio para getInDegree(nodeId) elementos
+     *
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return copiarNodos(alcanzadoPor[nodeId], destino);
+    }
+
+    /**
+     * Copia los nodos alcanzados por nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo con espacio para getOutDegree(nodeId) elementos
+     *
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return copiarNodos(alcance[nodeId], destino);
+    }
+
+    /**
+     * Visita los nodos que alcanzan a nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	visitarNodos(alcanzadoPor[nodeId], visitante);
+	return true;
+    }
+
+    /**
+     * Visita los nodos alcanzados por nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	visitarNodos(alcance[nodeId], visitante);
+	return true;
+    }
+
+    /**
+     * Retorna la lista de arcos (nodeId,y) de la clausura
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como fuente
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getOutEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	long fila[] = alcance[nodeId];
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		lista.add(new Arc(nodeId, (w<<6) + Long.numberOfTrailingZeros(bits)));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de arcos (x,nodeId) de la clausura
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como destino
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getInEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	long columna[] = alcanzadoPor[nodeId];
+	for (int w=0; w<columna.length; w++) {
+	    long bits = columna[w];
+	    while (bits != 0) {
+		lista.add(new Arc((w<<6) + Long.numberOfTrailingZeros(bits), nodeId));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Cuenta los bits encendidos de una fila
+     */
+    private static int contar(long fila[]) {
+	int total = 0;
+	for (int w=0; w<fila.length; w++) {
+	    total += Long.bitCount(fila[w]);
+	}
+	return total;
+    }
+
+    /**
+     * Retorna el grado de un nodo en la clausura.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return contar(alcance[nodeId]) + contar(alcanzadoPor[nodeId]);
+    }
+
+    /**
+     * Retorna el numero de nodos alcanzados por nodeId, incluyendolo.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado externo del nodo nodeId en este Grafo, -1 si el nodo no
+     * se encuentra en el grafo
+     */
+    public int getOutDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return contar(alcance[nodeId]);
+    }
+
+    /**
+     * Retorna el numero de nodos que alcanzan a nodeId, incluyendolo.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado interno del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getInDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return contar(alcanzadoPor[nodeId]);
+    }
+
+    /**
+     * Retorna el numero de nodos en el grafo
+     *
+     * @return numero de nodos en el grafo
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+    /**
+     * Retorna el numero de pares (x,y) tales que x alcanza a y
+     *
+     * @return numero de arcos en la clausura
+     */
+    public int getNumberOfArcs() {
+	return numArcs;
+    }
+
+    /**
+     * Determina si el DiGraph g es igual a esta clausura
+     *
+     * @param g el grafo con el que se quiere comparar
+     * @return true si los dos DiGraph contienen los mismos nodos y los mismos
+     * arcos
+     */
+    public boolean equals(DiGraph g) {
+	if (g==null || this.numNodes!=g.getNumberOfNodes()
+		|| this.numArcs!=g.getNumberOfArcs()) {
+	    return false;
+	}
+	for (int i=0; i<numNodes; i++) {
+	    for (int k=0; k<numNodes; k++) {
+		if (this.isArc(i,k) != g.isArc(i,k)) {
+		    return false;
+		}
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * La clausura transitiva de una clausura es ella misma, asi que se
+     * retorna una copia sin recorrer el grafo.
+     *
+     * Este metodo no altera este grafo <i>this</i>
+     *
+     * @return una copia de esta clausura
+     */
+    @Override
+    public DiGraph royWarshall() {
+	return this.clone();
+    }
+
+    /**
+     * Retorna la representacion en String de la clausura.
+     * @return la representacion en String de este DiGraph.
+     */
+    @Override
+    public String toString() {
+	StringBuilder salida = new StringBuilder();
+	salida.append(this.numNodes).append(' ').append(this.numArcs);
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = alcance[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    salida.append('\n').append(i).append(' ')
+			  .append((w<<6) + Long.numberOfTrailingZeros(bits));
+		    bits &= bits-1;
+		}
+	    }
+	}
+	return salida.toString();
+    }
+
+}
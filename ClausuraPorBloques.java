@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ClausuraPorBloques recorre una matriz de n×n en el orden de
+ * Roy-Warshall por bloques, y deja a la subclase la actualizacion de cada
+ * bloque. Asi la misma division en bloques y el mismo reparto entre hilos
+ * sirven para la clausura booleana de DiGraphMatrix y para los
+ * semianillos de MatrizSemianillo.
+ *
+ * Para cada bloque diagonal kb se procesan, en orden: el bloque diagonal,
+ * los bloques de su fila y su columna, y el resto de los bloques. Los
+ * bloques de una misma fase son independientes entre si, y con mas de un
+ * hilo se reparten en un ForkJoinPool.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public abstract class ClausuraPorBloques {
+
+    /**
+     * Aplica los pasos k en [kIni, kFin) sobre el bloque de filas
+     * [iIni, iFin) y columnas [jIni, jFin) de la matriz. Se llama a la
+     * vez desde varios hilos sobre bloques distintos de una misma fase.
+     */
+    protected abstract void actualizarBloque(int kIni, int kFin,
+					     int iIni, int iFin, int jIni, int jFin);
+
+    /**
+     * Aplica todos los pasos de Roy-Warshall sobre una matriz de n×n.
+     *
+     * @param n numero de filas y columnas de la matriz
+     * @param lado lado de los bloques, mayor a 0
+     * @param hilos numero de hilos; con 1 todo se hace en este hilo
+     */
+    public void cerrar(int n, int lado, int hilos) {
+	int bloques = (n+lado-1) / lado;
+	ForkJoinPool pool = hilos > 1 ? new ForkJoinPool(hilos) : null;
+	ArrayList<Bloque> fase = new ArrayList<Bloque>();
+
+	try {
+	    for (int kb=0; kb<bloques; kb++) {
+		int kIni = kb*lado;
+		int kFin = Math.min(n, kIni+lado);
+
+		// Fase 1: bloque diagonal
+		this.actualizarBloque(kIni, kFin, kIni, kFin, kIni, kFin);
+
+		// Fase 2: bloques de la fila y la columna kb
+		fase.clear();
+		for (int b=0; b<bloques; b++) {
+		    if (b!=kb) {
+			int ini = b*lado;
+			int fin = Math.min(n, ini+lado);
+			fase.add(new Bloque(this, kIni, kFin, kIni, kFin, ini, fin));
+			fase.add(new Bloque(this, kIni, kFin, ini, fin, kIni, kFin));
+		    }
+		}
+		ejecutar(pool, fase);
+
+		// Fase 3: resto de los bloques
+		fase.clear();
+		for (int ib=0; ib<bloques; ib++) {
+		    if (ib!=kb) {
+			int iIni = ib*lado;
+			int iFin = Math.min(n, iIni+lado);
+			for (int jb=0; jb<bloques; jb++) {
+			    if (jb!=kb) {
+				int jIni = jb*lado;
+				int jFin = Math.min(n, jIni+lado);
+				fase.add(new Bloque(this, kIni, kFin,
+						    iIni, iFin, jIni, jFin));
+			    }
+			}
+		    }
+		}
+		ejecutar(pool, fase);
+	    }
+	} finally {
+	    if (pool!=null) {
+		pool.shutdown();
+	    }
+	}
+    }
+
+    /**
+     * Ejecuta las tareas de una fase y espera a que terminen todas. Sin
+     * pool las ejecuta en este hilo.
+     */
+    private static void ejecutar(ForkJoinPool pool, final ArrayList<Bloque> fase) {
+	if (pool==null) {
+	    for (int t=0; t<fase.size(); t++) {
+		fase.get(t).compute();
+	    }
+	} else {
+	    pool.invoke(new RecursiveAction() {
+		@Override
+		protected void compute() {
+		    invokeAll(fase);
+		}
+	    });
+	}
+    }
+
+    /**
+     * Tarea que aplica un bloque de pasos k a un bloque de la matriz.
+     */
+    private static class Bloque extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	private final ClausuraPorBloques clausura;
+	private final int kIni, kFin, iIni, iFin, jIni, jFin;
+
+	Bloque(ClausuraPorBloques clausura, int kIni, int kFin,
+	       int iIni, int iFin, int jIni, int jFin) {
+	    this.clausura = clausura;
+	    this.kIni = kIni;
+	    this.kFin = kFin;
+	    this.iIni = iIni;
+	    this.iFin = iFin;
+	    this.jIni = jIni;
+	    this.jFin = jFin;
+	}
+
+	@Override
+	protected void compute() {
+	    clausura.actualizarBloque(kIni, kFin, iIni, iFin, jIni, jFin);
+	}
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * ComponentesFuertes calcula las componentes fuertemente conexas de un
+ * DiGraph con el algoritmo de Tarjan, en version iterativa para no
+ * depender de la profundidad de la pila de llamadas. Permite construir
+ * el grafo de condensacion, donde cada componente es un nodo; ese grafo
+ * siempre es aciclico.
+ *
+ * Las componentes se numeran en orden topologico: si hay un arco de la
+ * componente a a la componente b, con a distinto de b, entonces a &lt; b.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class ComponentesFuertes {
+
+    private final int numNodes;
+    private int numComponentes;
+    // componente[v] es la componente del nodo v
+    private final int componente[];
+    // sucesores de cada nodo en formato CSR
+    private int inicio[];
+    private int destinos[];
+
+    /**
+     * Calcula las componentes fuertemente conexas de g. El grafo g no se
+     * modifica.
+     *
+     * @param g el grafo
+     */
+    public ComponentesFuertes(DiGraph g) {
+	numNodes = g.getNumberOfNodes();
+	componente = new int[numNodes];
+	this.copiarSucesores(g);
+	this.tarjan();
+    }
+
+    /**
+     * Copia los sucesores de g en arreglos CSR para recorrerlos sin
+     * volver a consultar el grafo
+     */
+    private void copiarSucesores(DiGraph g) {
+	inicio = new int[numNodes+1];
+	for (int v=0; v<numNodes; v++) {
+	    inicio[v+1] = inicio[v] + g.getOutDegree(v);
+	}
+	destinos = new int[inicio[numNodes]];
+	int buffer[] = new int[numNodes];
+	for (int v=0; v<numNodes; v++) {
+	    int grado = inicio[v+1]-inicio[v];
+	    int suc[] = grado <= buffer.length ? buffer : new int[grado];
+	    int k = g.getSucesors(v, suc);
+	    System.arraycopy(suc, 0, destinos, inicio[v], k);
+	}
+    }
+
+    /**
+     * Algoritmo de Tarjan. Una componente se completa despues de todas
+     * las que alcanza, asi que las componentes salen en orden topologico
+     * inverso y al final se renumeran.
+     */
+    private void tarjan() {
+	int indice[] = new int[numNodes];
+	int bajo[] = new int[numNodes];
+	boolean enPila[] = new boolean[numNodes];
+	int pila[] = new int[numNodes];
+	int llamadas[] = new int[numNodes];
+	int posicion[] = new int[numNodes];
+	java.util.Arrays.fill(indice, -1);
+	int siguiente = 0;
+	int tope = 0;
+	int c = 0;
+
+	for (int s=0; s<numNodes; s++) {
+	    if (indice[s]!=-1) {
+		continue;
+	    }
+	    int profundidad = 0;
+	    llamadas[0] = s;
+	    posicion[0] = inicio[s];
+	    indice[s] = bajo[s] = siguiente++;
+	    pila[tope++] = s;
+	    enPila[s] = true;
+
+	    while (profundidad>=0) {
+		int v = llamadas[profundidad];
+		if (posicion[profundidad] < inicio[v+1]) {
+		    int w = destinos[posicion[profundidad]++];
+		    if (indice[w]==-1) {
+			indice[w] = bajo[w] = siguiente++;
+			pila[tope++] = w;
+			enPila[w] = true;
+			profundidad++;
+			llamadas[profundidad] = w;
+			posicion[profundidad] = inicio[w];
+		    } else if (enPila[w] && indice[w] < bajo[v]) {
+			bajo[v] = indice[w];
+		    }
+		} else {
+		    if (bajo[v]==indice[v]) {
+			int w;
+			do {
+			    w = pila[--tope];
+			    enPila[w] = false;
+			    componente[w] = c;
+			} while (w!=v);
+			c++;
+		    }
+		    profundidad--;
+		    if (profundidad>=0) {
+			int padre = llamadas[profundidad];
+			if (bajo[v] < bajo[padre]) {
+			    bajo[padre] = bajo[v];
+			}
+		    }
+		}
+	    }
+	}
+
+	numComponentes = c;
+	for (int v=0; v<numNodes; v++) {
+	    componente[v] = c-1-componente[v];
+	}
+    }
+
+    /**
+     * Retorna el numero de componentes fuertemente conexas
+     *
+     * @return el numero de componentes
+     */
+    public int getNumberOfComponents() {
+	return numComponentes;
+    }
+
+    /**
+     * Retorna la componente del nodo nodeId
+     *
+     * @param nodeId identificador del nodo
+     * @return la componente de nodeId, -1 si el nodo no se encuentra en el
+     * grafo
+     */
+    public int getComponent(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes) {
+	    return -1;
+	}
+	return componente[nodeId];
+    }
+
+    /**
+     * Retorna el grafo de condensacion: un nodo por componente y un arco
+     * (a,b) si algun nodo de a tiene un arco hacia algun nodo de b, con a
+     * distinto de b.
+     *
+     * @return un DiGraphCSR aciclico con getNumberOfComponents() nodos
+     */
+    public DiGraphCSR condensar() {
+	int m = destinos.length;
+	int src[] = new int[m];
+	int dst[] = new int[m];
+	int k = 0;
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		int a = componente[v];
+		int b = componente[destinos[p]];
+		if (a!=b) {
+		    src[k] = a;
+		    dst[k] = b;
+		    k++;
+		}
+	    }
+	}
+	return new DiGraphCSR(numComponentes, src, dst, k);
+    }
+
+}
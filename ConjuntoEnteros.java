@@ -0,0 +1,178 @@
+/**
+ * ConjuntoEnteros es un conjunto de enteros no negativos implementado con
+ * una tabla hash de direccionamiento abierto y sondeo lineal, sin crear
+ * un objeto por elemento. Agregar, buscar y eliminar toman tiempo
+ * constante esperado. Al eliminar se corren hacia atras los elementos
+ * siguientes del mismo grupo, asi la tabla nunca acumula marcas de
+ * borrado.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class ConjuntoEnteros {
+
+    // marca de casilla vacia
+    private static final int VACIO = -1;
+
+    private int tabla[];
+    private int tam = 0;
+
+    /**
+     * Crea un conjunto vacio
+     */
+    public ConjuntoEnteros() {
+	this(4);
+    }
+
+    /**
+     * Crea un conjunto vacio con espacio para capacidad elementos antes
+     * de crecer
+     *
+     * @param capacidad numero de elementos esperado
+     */
+    public ConjuntoEnteros(int capacidad) {
+	int casillas = 4;
+	while (casillas < 2*capacidad) {
+	    casillas <<= 1;
+	}
+	tabla = new int[casillas];
+	java.util.Arrays.fill(tabla, VACIO);
+    }
+
+    /**
+     * Casilla inicial de x en una tabla con mascara+1 casillas
+     */
+    private static int casilla(int x, int mascara) {
+	int h = x * 0x9E3779B9;
+	return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Agrega x al conjunto
+     *
+     * @param x entero no negativo
+     * @return true si x no estaba en el conjunto
+     */
+    public boolean add(int x) {
+	int mascara = tabla.length-1;
+	int i = casilla(x, mascara);
+	while (tabla[i] != VACIO) {
+	    if (tabla[i] == x) {
+		return false;
+	    }
+	    i = (i+1) & mascara;
+	}
+	tabla[i] = x;
+	tam++;
+	if (2*tam > tabla.length) {
+	    this.crecer();
+	}
+	return true;
+    }
+
+    /**
+     * Indica si x esta en el conjunto
+     *
+     * @param x entero
+     * @return true si x esta en el conjunto
+     */
+    public boolean contains(int x) {
+	int mascara = tabla.length-1;
+	int i = casilla(x, mascara);
+	while (tabla[i] != VACIO) {
+	    if (tabla[i] == x) {
+		return true;
+	    }
+	    i = (i+1) & mascara;
+	}
+	return false;
+    }
+
+    /**
+     * Elimina x del conjunto
+     *
+     * @param x entero
+     * @return true si x estaba en el conjunto
+     */
+    public boolean remove(int x) {
+	int mascara = tabla.length-1;
+	int i = casilla(x, mascara);
+	while (tabla[i] != x) {
+	    if (tabla[i] == VACIO) {
+		return false;
+	    }
+	    i = (i+1) & mascara;
+	}
+
+	// Se corren hacia atras los elementos que quedarian separados de
+	// su casilla inicial por el hueco en i
+	int j = i;
+	while (true) {
+	    j = (j+1) & mascara;
+	    if (tabla[j] == VACIO) {
+		break;
+	    }
+	    int k = casilla(tabla[j], mascara);
+	    boolean moverlo = i <= j ? (k <= i || k > j) : (k <= i && k > j);
+	    if (moverlo) {
+		tabla[i] = tabla[j];
+		i = j;
+	    }
+	}
+	tabla[i] = VACIO;
+	tam--;
+	return true;
+    }
+
+    /**
+     * Duplica el numero de casillas y reubica los elementos
+     */
+    private void crecer() {
+	int vieja[] = tabla;
+	tabla = new int[2*vieja.length];
+	java.util.Arrays.fill(tabla, VACIO);
+	int mascara = tabla.length-1;
+	for (int v=0; v<vieja.length; v++) {
+	    if (vieja[v] != VACIO) {
+		int i = casilla(vieja[v], mascara);
+		while (tabla[i] != VACIO) {
+		    i = (i+1) & mascara;
+		}
+		tabla[i] = vieja[v];
+	    }
+	}
+    }
+
+    /**
+     * Elimina todos los elementos
+     */
+    public void clear() {
+	java.util.Arrays.fill(tabla, VACIO);
+	tam = 0;
+    }
+
+    /**
+     * Retorna el numero de elementos del conjunto
+     *
+     * @return el numero de elementos
+     */
+    public int size() {
+	return tam;
+    }
+
+    /**
+     * Retorna una copia de este conjunto
+     *
+     * @return un conjunto con los mismos elementos
+     */
+    @Override
+    public ConjuntoEnteros clone() {
+	ConjuntoEnteros c = new ConjuntoEnteros(0);
+	c.tabla = this.tabla.clone();
+	c.tam = this.tam;
+	return c;
+    }
+
+}
@@ -35,6 +35,143 @@ public abstract class DiGraph {
 
     public abstract Arc addArc(int src, int dst, double costo);
 
+    /**
+     * Agrega un arco a este DiGraph sin retornar un objeto Arc. Las
+     * implementaciones que no guardan objetos Arc no crean ninguno.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue agregado, false si ya existia o alguno
+     * de los nodos no es valido
+     */
+    public boolean insertArc(int src, int dst) {
+	return this.addArc(src, dst) != null;
+    }
+
+    /**
+     * Elimina un arco de este DiGraph sin retornar un objeto Arc, con las
+     * mismas condiciones que insertArc.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue eliminado, false si no existia
+     */
+    public boolean removeArc(int src, int dst) {
+	return this.delArc(src, dst) != null;
+    }
+
+    /**
+     * Agrega a este DiGraph los m primeros arcos (src[i],dst[i]) de una
+     * vez. Los arcos repetidos, los que ya existen y los que tienen nodos
+     * fuera de rango se ignoran.
+     *
+     * Los arcos se ordenan por fuente y destino con ordenamiento por
+     * conteo en O(n+m) antes de agregarlos; las subclases reemplazan este
+     * metodo para llenar su representacion directamente.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @return numero de arcos agregados
+     */
+    public int addArcs(int src[], int dst[], int m) {
+	int n = this.getNumberOfNodes();
+	int inicio[] = new int[n+1];
+	int destinos[] = ordenarArcos(n, src, dst, m, inicio);
+	int agregados = 0;
+	for (int v=0; v<n; v++) {
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		if (this.insertArc(v, destinos[p])) {
+		    agregados++;
+		}
+	    }
+	}
+	return agregados;
+    }
+
+    /**
+     * Ordena los m primeros arcos (src[i],dst[i]) por fuente y luego por
+     * destino con dos pasadas de ordenamiento por conteo, en O(n+m), y
+     * elimina los repetidos. Los arcos con nodos fuera de rango se
+     * ignoran.
+     *
+     * @param n numero de nodos
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @param inicio arreglo de n+1 elementos donde se deja, para cada nodo
+     * v, la posicion de su primer sucesor en el arreglo retornado;
+     * inicio[n] es el numero de arcos distintos
+     * @return los destinos de los arcos distintos, agrupados por fuente y
+     * en orden creciente dentro de cada fuente
+     */
+    static int[] ordenarArcos(int n, int src[], int dst[], int m, int inicio[]) {
+	return ordenarArcos(n, src, dst, m, inicio, null);
+    }
+
+    /**
+     * Igual que ordenarArcos(n, src, dst, m, inicio), y ademas deja en
+     * indices[p], si indices no es null, la posicion en src y dst del
+     * arco que quedo en la posicion p. De los arcos repetidos se conserva
+     * el primero.
+     */
+    static int[] ordenarArcos(int n, int src[], int dst[], int m, int inicio[],
+			      int indices[]) {
+	int validos = 0;
+	int cuenta[] = new int[n+1];
+	for (int e=0; e<m; e++) {
+	    if (src[e]>=0 && src[e]<n && dst[e]>=0 && dst[e]<n) {
+		cuenta[dst[e]+1]++;
+		validos++;
+	    }
+	}
+	for (int v=0; v<n; v++) {
+	    cuenta[v+1] += cuenta[v];
+	}
+	int porDestino[] = new int[validos];
+	for (int e=0; e<m; e++) {
+	    if (src[e]>=0 && src[e]<n && dst[e]>=0 && dst[e]<n) {
+		porDestino[cuenta[dst[e]]++] = e;
+	    }
+	}
+
+	int fila[] = new int[n+1];
+	for (int t=0; t<validos; t++) {
+	    fila[src[porDestino[t]]+1]++;
+	}
+	for (int v=0; v<n; v++) {
+	    fila[v+1] += fila[v];
+	}
+	// cuenta ya no hace falta; se reusa como posicion siguiente de cada fila
+	System.arraycopy(fila, 0, cuenta, 0, n+1);
+	int ordenados[] = new int[validos];
+	int originales[] = indices==null ? null : new int[validos];
+	for (int t=0; t<validos; t++) {
+	    int e = porDestino[t];
+	    int q = cuenta[src[e]]++;
+	    ordenados[q] = dst[e];
+	    if (originales!=null) {
+		originales[q] = e;
+	    }
+	}
+
+	// Eliminar repetidos dentro de cada fila
+	int k = 0;
+	for (int v=0; v<n; v++) {
+	    inicio[v] = k;
+	    for (int p=fila[v]; p<fila[v+1]; p++) {
+		if (p==fila[v] || ordenados[p]!=ordenados[p-1]) {
+		    if (originales!=null) {
+			indices[k] = originales[p];
+		    }
+		    ordenados[k++] = ordenados[p];
+		}
+	    }
+	}
+	inicio[n] = k;
+	return k==ordenados.length ? ordenados : java.util.Arrays.copyOf(ordenados, k);
+    }
+
     /**
      * Permite agregar <i>num</i> nuevos nodos a este DiGraph.
      *
@@ -106,6 +243,25 @@ public abstract class DiGraph {
      */
     public abstract List<Arc> getInEdges(int nodeId );
 
+    /**
+     * Retorna una vista de solo lectura de los arcos que tienen a nodeId
+     * como destino, en el mismo orden que getInEdges(nodeId). Las
+     * implementaciones que guardan sus arcos en listas devuelven una
+     * vista sobre esas listas, sin copiarlas; las demas no tienen objetos
+     * Arc guardados y construyen la lista como getInEdges. Para una copia
+     * modificable se usa clone() sobre la vista. La vista no protege los
+     * Arc: en las implementaciones con listas son los arcos del grafo, y
+     * cambiar su costo con setCost cambia el grafo.
+     *
+     * @param nodeId identificador del nodo
+     * @return vista de los arcos que llegan a nodeId, null si nodeId no es
+     * un nodo del grafo
+     */
+    public List<Arc> getInEdgesView(int nodeId) {
+	List<Arc> arcos = this.getInEdges(nodeId);
+	return arcos==null ? null : new VistaLista<Arc>(arcos);
+    }
+
     /**
      * Retorna el numero de arcos en el grafo
      *
@@ -113,6 +269,33 @@ public abstract class DiGraph {
      */
     public abstract int getNumberOfArcs();
 
+    /**
+     * Retorna todos los arcos de este DiGraph codificados con Arc.pack,
+     * agrupados por nodo fuente en orden creciente, sin crear objetos Arc.
+     *
+     * @return arreglo con getNumberOfArcs() arcos codificados
+     */
+    public long[] getPackedArcs() {
+	int n = this.getNumberOfNodes();
+	long arcos[] = new long[Math.max(this.getNumberOfArcs(), 0)];
+	int suc[] = new int[0];
+	int k = 0;
+	for (int v=0; v<n; v++) {
+	    int grado = this.getOutDegree(v);
+	    if (grado > suc.length) {
+		suc = new int[Math.max(grado, 2*suc.length)];
+	    }
+	    int tam = this.getSucesors(v, suc);
+	    if (k+tam > arcos.length) {
+		arcos = java.util.Arrays.copyOf(arcos, Math.max(k+tam, 2*arcos.length));
+	    }
+	    for (int i=0; i<tam; i++) {
+		arcos[k++] = Arc.pack(v, suc[i]);
+	    }
+	}
+	return k==arcos.length ? arcos : java.util.Arrays.copyOf(arcos, k);
+    }
+
     /**
      * Retorna el numero de nodos en el grafo
      *
@@ -137,6 +320,20 @@ public abstract class DiGraph {
      */
     public abstract List<Arc> getOutEdges(int nodeId );
 
+    /**
+     * Retorna una vista de solo lectura de los arcos que tienen a nodeId
+     * como fuente, en el mismo orden que getOutEdges(nodeId), con las
+     * mismas condiciones que getInEdgesView.
+     *
+     * @param nodeId identificador del nodo
+     * @return vista de los arcos que salen de nodeId, null si nodeId no es
+     * un nodo del grafo
+     */
+    public List<Arc> getOutEdgesView(int nodeId) {
+	List<Arc> arcos = this.getOutEdges(nodeId);
+	return arcos==null ? null : new VistaLista<Arc>(arcos);
+    }
+
  
     /**
      * Retorna la lista de predecesores del nodo nodeId
@@ -157,6 +354,96 @@ public abstract class DiGraph {
      */
     public abstract List<Integer> getSucesors(int nodeId);
 
+    /**
+     * Copia los predecesores del nodo nodeId en el arreglo destino, sin
+     * crear objetos por cada predecesor.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo donde se copian los predecesores. Debe tener
+     * espacio para getInDegree(nodeId) elementos
+     *
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    public int getPredecesors(int nodeId, int[] destino) {
+	return copiar(this.getPredecesors(nodeId), destino);
+    }
+
+    /**
+     * Copia los sucesores del nodo nodeId en el arreglo destino, sin
+     * crear objetos por cada sucesor.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo donde se copian los sucesores. Debe tener
+     * espacio para getOutDegree(nodeId) elementos
+     *
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    public int getSucesors(int nodeId, int[] destino) {
+	return copiar(this.getSucesors(nodeId), destino);
+    }
+
+    /**
+     * Llama a visitante.visitar(v) por cada predecesor v del nodo nodeId,
+     * en el mismo orden que getPredecesors(nodeId).
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     *
+     * @return false si nodeId no es un nodo del grafo, true en caso
+     * contrario
+     */
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	return recorrer(this.getPredecesors(nodeId), visitante);
+    }
+
+    /**
+     * Llama a visitante.visitar(v) por cada sucesor v del nodo nodeId,
+     * en el mismo orden que getSucesors(nodeId).
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     *
+     * @return false si nodeId no es un nodo del grafo, true en caso
+     * contrario
+     */
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	return recorrer(this.getSucesors(nodeId), visitante);
+    }
+
+    /**
+     * Visita cada nodo de una lista
+     *
+     * @return false si la lista es null
+     */
+    private static boolean recorrer(List<Integer> nodos, VisitanteNodos visitante) {
+	if (nodos==null) {
+	    return false;
+	}
+	Object elementos[] = nodos.toArray();
+	for (int i=0; i<elementos.length; i++) {
+	    visitante.visitar(((Integer) elementos[i]).intValue());
+	}
+	return true;
+    }
+
+    /**
+     * Copia una lista de nodos en un arreglo de enteros
+     *
+     * @return numero de nodos copiados, -1 si la lista es null
+     */
+    private static int copiar(List<Integer> nodos, int[] destino) {
+	if (nodos==null) {
+	    return -1;
+	}
+	Object elementos[] = nodos.toArray();
+	for (int i=0; i<elementos.length; i++) {
+	    destino[i] = ((Integer) elementos[i]).intValue();
+	}
+	return elementos.length;
+    }
+
 
     /**
      * Indica si un arco existe en este DiGraph
@@ -221,7 +508,7 @@ public abstract class DiGraph {
 
         // Se agrega la identidad
         for( int i = 0; i < numNodes; ++i ) {
-            ret.addArc(i,i);
+            ret.insertArc(i,i);
         }
 
         for( int k = 0; k < numNodes; ++k ) {
@@ -229,7 +516,7 @@ public abstract class DiGraph {
                 if( (i != k) && ret.isArc(i,k) ) {
                     for( int j = 0; j < numNodes; ++j ) {
                         if( ret.isArc(k,j) ) {
-                            ret.addArc(i,j);
+                            ret.insertArc(i,j);
                         }
                     }
                 }
@@ -255,4 +542,17 @@ public abstract class DiGraph {
      */
     public abstract void write(String fileName) throws IOException;
 
+    /**
+     * Escribe este DiGraph en un archivo en el formato binario de
+     * GrafoBinario, sin clausura ni nombres
+     *
+     * @param fileName nombre del archivo donde se escribira la representacion
+     * del grafo
+     *
+     * @throws java.io.IOException
+     */
+    public void writeBinary(String fileName) throws IOException {
+	GrafoBinario.escribir(fileName, this, null, null);
+    }
+
 }
@@ -0,0 +1,750 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * DiGraphBitMatrix es una clase que representa un grafo a traves de una
+ * matriz de adyacencias empaquetada en bits: cada fila es un arreglo de
+ * long donde el bit j de la fila i indica si existe el arco (i,j).
+ * Ocupa un octavo de la memoria de DiGraphMatrix y permite calcular la
+ * clausura transitiva operando 64 columnas a la vez.
+ * Extiende a DiGraph.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class DiGraphBitMatrix extends DiGraph {
+
+    // filas[i] contiene los bits de los sucesores del nodo i. El bit j
+    // se encuentra en la palabra j>>>6, posicion j&63
+    private long filas[][];
+
+    /**
+     * Precondicion: n>=0
+     * Crea un DiGraphBitMatrix con n nodos y sin arcos
+     * @param n numero de nodos del grafo
+     */
+    public DiGraphBitMatrix(int n) {
+	this.numNodes = n;
+	this.numArcs = 0;
+	this.filas = new long[n][palabras(n)];
+    }
+
+    /**
+     * Precondicion: El número de nodos debe ser mayor a 0, y el número de arcos
+     * reportados por el archivo deben coincidir con el número de arcos
+     * en el archivo.
+     * Crea un DiGraphBitMatrix a partir del contenido del archivo.
+     *
+     * @param fileName nombre del archivo
+     * @throws FileNotFoundException, IOException, NumberFormatException
+     * Arroja NumberFormatException si en el archivo se encuentra algun
+     * caracter que no sea numero.
+     */
+    public DiGraphBitMatrix(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	this.read(fileName);
+    }
+
+    /**
+     * Precondicion: El grafo de entrada debe ser diferente de null.
+     * Crea un DiGraphBitMatrix a partir del DiGraph g
+     *
+     * @param g el grafo fuente.
+     */
+    public DiGraphBitMatrix(DiGraph g) {
+	this(g.getNumberOfNodes());
+	for (int i=0; i<numNodes; i++) {
+	    for (int k=0; k<numNodes; k++) {
+		if (g.isArc(i,k)) {
+		    filas[i][k>>>6] |= 1L << k;
+		    numArcs++;
+		}
+	    }
+	}
+    }
+
+    /**
+     * Crea un DiGraphBitMatrix que usa directamente las filas dadas, sin
+     * copiarlas. Cada fila debe tener palabras(filas.length) elementos.
+     *
+     * @param filas filas de bits de la matriz de adyacencias
+     */
+    DiGraphBitMatrix(long filas[][]) {
+	this.numNodes = filas.length;
+	this.filas = filas;
+	this.numArcs = this.contarArcos();
+    }
+
+    /**
+     * Numero de palabras de 64 bits necesarias para una fila de n nodos
+     */
+    private static int palabras(int n) {
+	return (n+63)>>>6;
+    }
+
+    /**
+     * Genera una copia de este DiGraph.
+     * @return una copia de este DiGraph.
+     */
+    @Override
+    public DiGraphBitMatrix clone() {
+	DiGraphBitMatrix g = new DiGraphBitMatrix(0);
+	g.numNodes = this.numNodes;
+	g.numArcs = this.numArcs;
+	g.filas = new long[numNodes][];
+	for (int i=0; i<numNodes; i++) {
+	    g.filas[i] = this.filas[i].clone();
+	}
+	return g;
+    }
+
+    /**
+     * Permite agregar <i>num</i> nuevos nodos a este DiGraph.
+     * Si el <i>num</i> <=0 entonces no realiza cambios al grafo
+     *
+     * @param num numero de nodos a agregar
+     */
+    public void addNodes(int num) {
+	if (num<=0)
+	    return;
+
+	int n = this.numNodes + num;
+	int p = palabras(n);
+	long filasAux[][] = new long[n][];
+	for (int i=0; i<n; i++) {
+	    filasAux[i] = new long[p];
+	    if (i<numNodes) {
+		System.arraycopy(filas[i], 0, filasAux[i], 0, filas[i].length);
+	    }
+	}
+	this.numNodes = n;
+	this.filas = filasAux;
+    }
+
+    /**
+     * Agrega un arco a este DiGraph
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return El arco agregado, null si los nodos especificados no
+     * son validos o si el arco ya existia
+     */
+    public Arc addArc(int src, int dst) {
+	if (this.marcar(src,dst)) {
+	    return new Arc(src,dst);
+	}
+	return null;
+    }
+
+    /**
+     * Agrega un arco a este DiGraph sin crear un objeto Arc
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue agregado, false si los nodos no son
+     * validos o si el arco ya existia
+     */
+    @Override
+    public boolean insertArc(int src, int dst) {
+	return this.marcar(src,dst);
+    }
+
+    /**
+     * Agrega un arco a este DiGraph. El costo no se almacena en la matriz.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @param costo del arco
+     * @return El arco agregado, null si los nodos especificados no
+     * son validos o si el arco ya existia
+     */
+    public Arc addArc(int src, int dst, double costo) {
+	Arc arco = this.addArc(src,dst);
+	if (arco!=null) {
+	    arco.setCost(costo);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega a este DiGraph los m primeros arcos (src[i],dst[i]) en O(m),
+     * encendiendo directamente sus bits. Los arcos repetidos, los que ya
+     * existen y los que tienen nodos fuera de rango se ignoran.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @return numero de arcos agregados
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int agregados = 0;
+	for (int e=0; e<m; e++) {
+	    if (this.marcar(src[e], dst[e])) {
+		agregados++;
+	    }
+	}
+	return agregados;
+    }
+
+    /**
+     * Enciende el bit (src,dst) si los nodos son validos y el arco no
+     * existia, actualizando el numero de arcos.
+     *
+     * @return true si el arco fue agregado
+     */
+    private boolean marcar(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes
+		|| (filas[src][dst>>>6] & (1L << dst)) != 0)
+	    return false;
+
+	filas[src][dst>>>6] |= 1L << dst;
+	numArcs++;
+	return true;
+    }
+
+    /**
+     * Retorna la lista de predecesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     *
+     * @return lista de predecesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getPredecesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas[i][w] & mascara) != 0) {
+		lista.add(i);
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de sucesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     *
+     * @return lista de sucesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getSucesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	long fila[] = filas[nodeId];
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		lista.add((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Copia los predecesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo con espacio para getInDegree(nodeId) elementos
+     *
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	int k = 0;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas[i][w] & mascara) != 0) {
+		destino[k++] = i;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Copia los sucesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo con espacio para getOutDegree(nodeId) elementos
+     *
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	long fila[] = filas[nodeId];
+	int k = 0;
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		destino[k++] = (w<<6) + Long.numberOfTrailingZeros(bits);
+		bits &= bits-1;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Visita los predecesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas[i][w] & mascara) != 0) {
+		visitante.visitar(i);
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Visita los sucesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	long fila[] = filas[nodeId];
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		visitante.visitar((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna el Arco cuyo nodo fuente es nodoSrc y nodo destino es nodoDst.
+     *
+     * @param nodoSrc nodo fuente
+     * @param nodoDst nodo destino
+     *
+     * @return el arco (nodoSrc,nodoDst). Devuelve null si el arco no
+     * pertenece al grafo.
+     */
+    public Arc getArc(int nodoSrc, int nodoDst) {
+	if (this.isArc(nodoSrc,nodoDst)) {
+	    return new Arc(nodoSrc,nodoDst);
+	}
+	return null;
+    }
+
+    /**
+     * Carga en este DiGraph, el grafo contenido en el archivo
+     * Borra el grafo anterior y le asigna la informacion del grafo
+     * contenido en el archivo fileName.
+     * El número de nodos debe ser mayor a 0, y el número de arcos
+     * reportados por el archivo deben coincidir con el número de arcos
+     * en el archivo.
+     * @param fileName nombre del archivo que contiene la representacion del
+     * grafo a cargar
+     *
+     * @throws java.io.IOException, FileNotFoundException, NumberFormatException
+     */
+    public void read(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	LectorArcos lector = new LectorArcos(fileName);
+	int arcos[][] = lector.leerArcos();
+
+	this.numNodes = lector.getNumberOfNodes();
+	this.numArcs = 0;
+	this.filas = new long[numNodes][palabras(numNodes)];
+	this.addArcs(arcos[0], arcos[1], arcos[0].length);
+    }
+
+    /**
+     * Escribe este DiGraph en un archivo en el formato establecido en el enunciado
+     *
+     * @param fileName nombre del archivo donde se escribira la representacion
+     * del grafo
+     *
+     * @throws java.io.IOException
+     */
+    public void write(String fileName) throws IOException {
+	PrintStream out = new PrintStream(fileName);
+	out.print(numNodes + " " + numArcs + "\n");
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = filas[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    out.print(i + " " + ((w<<6) + Long.numberOfTrailingZeros(bits)) + "\n");
+		    bits &= bits-1;
+		}
+	    }
+	}
+	out.close();
+    }
+
+    /**
+     * Retorna el grado de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return this.getOutDegree(nodeId) + this.getInDegree(nodeId);
+    }
+
+    /**
+     * Retorna el grado externo de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado externo del nodo nodeId en este Grafo, -1 si el nodo no
+     * se encuentra en el grafo
+     */
+    public int getOutDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int gradoEx = 0;
+	long fila[] = filas[nodeId];
+	for (int w=0; w<fila.length; w++) {
+	    gradoEx += Long.bitCount(fila[w]);
+	}
+	return gradoEx;
+    }
+
+    /**
+     * Retorna el grado interno de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado interno del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getInDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int gradoIn = 0;
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas[i][w] & mascara) != 0) {
+		gradoIn++;
+	    }
+	}
+	return gradoIn;
+    }
+
+    /**
+     * Retorna el numero de nodos en el grafo
+     *
+     * @return numero de nodos en el grafo
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+    /**
+     * Retorna el numero de arcos en el grafo
+     *
+     * @return numero de arcos en el grafo
+     */
+    public int getNumberOfArcs() {
+	return numArcs;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como fuente
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como fuente
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getOutEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	long fila[] = filas[nodeId];
+	for (int w=0; w<fila.length; w++) {
+	    long bits = fila[w];
+	    while (bits != 0) {
+		lista.add(new Arc(nodeId, (w<<6) + Long.numberOfTrailingZeros(bits)));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como destino
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como destino
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getInEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas[i][w] & mascara) != 0) {
+		lista.add(new Arc(i,nodeId));
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Remueve un arco de este DiGraph
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     *
+     * @return arco eliminado, null en caso de que el arco no exista o
+     * los nodos no pertenezcan al grafo
+     */
+    public Arc delArc(int nodeIniId, int nodeFinId) {
+	if (!this.removeArc(nodeIniId,nodeFinId))
+	    return null;
+
+	return new Arc(nodeIniId,nodeFinId);
+    }
+
+    /**
+     * Remueve un arco de este DiGraph sin crear un objeto Arc
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     * @return true si el arco fue eliminado, false si no existia o los
+     * nodos no son validos
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+	if (!this.isArc(nodeIniId,nodeFinId))
+	    return false;
+
+	filas[nodeIniId][nodeFinId>>>6] &= ~(1L << nodeFinId);
+	numArcs--;
+	return true;
+    }
+
+    /**
+     * remueve todos los arcos de este grafo
+     *
+     * @return lista de arcos eliminados
+     */
+    public List<Arc> removeAllArcs() {
+	List<Arc> lista = new ListaArreglo<Arc>();
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = filas[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    lista.add(new Arc(i, (w<<6) + Long.numberOfTrailingZeros(bits)));
+		    bits &= bits-1;
+		}
+		fila[w] = 0;
+	    }
+	}
+	numArcs = 0;
+	return lista;
+    }
+
+    /**
+     * Invierte la direccion de un arco si existe
+     * @param nodeIniId nodo fuente del arco antes de invertirlo
+     * @param nodeFinId nodo destino del arco antes de invertirlo
+     * @return true si el arco fue invertido, false en caso contrario
+     */
+    public boolean reverseArc(int nodeIniId, int nodeFinId) {
+	if (!this.removeArc(nodeIniId,nodeFinId))
+	    return false;
+
+	this.marcar(nodeFinId,nodeIniId);
+	return true;
+    }
+
+    /**
+     * Invierte todos los arcos del DiGraph, trasponiendo la matriz.
+     *
+     * @return Esta operación siempre es exitosa y devuelve true.
+     */
+    public boolean reverseArcs() {
+	long traspuesta[][] = new long[numNodes][palabras(numNodes)];
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = filas[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    int j = (w<<6) + Long.numberOfTrailingZeros(bits);
+		    traspuesta[j][i>>>6] |= 1L << i;
+		    bits &= bits-1;
+		}
+	    }
+	}
+	this.filas = traspuesta;
+	return true;
+    }
+
+    /**
+     * Determina si el DiGraph g es igual a este DiGraph
+     *
+     * @param g el grafo con el que se quiere comparar
+     * @return true si los dos DiGraph contienen los mismos nodos y los mismos
+     * arcos
+     */
+    public boolean equals(DiGraph g) {
+	if (g==null || this.numNodes!=g.getNumberOfNodes()
+		|| this.numArcs!=g.getNumberOfArcs()) {
+	    return false;
+	}
+	if (g instanceof DiGraphBitMatrix) {
+	    DiGraphBitMatrix otro = (DiGraphBitMatrix) g;
+	    for (int i=0; i<numNodes; i++) {
+		if (!java.util.Arrays.equals(filas[i], otro.filas[i])) {
+		    return false;
+		}
+	    }
+	    return true;
+	}
+	for (int i=0; i<numNodes; i++) {
+	    for (int k=0; k<numNodes; k++) {
+		if (this.isArc(i,k) != g.isArc(i,k)) {
+		    return false;
+		}
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna un Digraph que es la clausura transitiva de este DiGraph
+     * calculada usando el algoritmo Roy-Warshal. Para cada k, la fila k
+     * se combina con un OR sobre cada fila i que alcanza a k, 64 columnas
+     * por operacion.
+     *
+     * Este metodo no altera este grafo <i>this</i>
+     *
+     * @return un Digraph que es la clausura transitiva de este DiGraph
+     * calculada usando el algoritmo Roy-Warshal
+     */
+    public DiGraph royWarshall() {
+	DiGraphBitMatrix g = this.clone();
+	long f[][] = g.filas;
+
+	// M:= M + I
+	for (int i=0; i<numNodes; i++) {
+	    f[i][i>>>6] |= 1L << i;
+	}
+
+	for (int k=0; k<numNodes; k++) {
+	    long filaK[] = f[k];
+	    int w = k>>>6;
+	    long mascara = 1L << k;
+	    for (int i=0; i<numNodes; i++) {
+		long filaI[] = f[i];
+		if (i!=k && (filaI[w] & mascara) != 0) {
+		    for (int j=0; j<filaI.length; j++) {
+			filaI[j] |= filaK[j];
+		    }
+		}
+	    }
+	}
+
+	g.numArcs = g.contarArcos();
+	return g;
+    }
+
+    /**
+     * Cuenta los bits encendidos de la matriz
+     */
+    private int contarArcos() {
+	int total = 0;
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = filas[i];
+	    for (int w=0; w<fila.length; w++) {
+		total += Long.bitCount(fila[w]);
+	    }
+	}
+	return total;
+    }
+
+    /**
+     * Retorna la representacion en String de este DiGraph.
+     * @return la representacion en String de este DiGraph.
+     */
+    @Override
+    public String toString() {
+	StringBuilder salida = new StringBuilder();
+	salida.append(this.numNodes).append(' ').append(this.numArcs);
+	for (int i=0; i<numNodes; i++) {
+	    long fila[] = filas[i];
+	    for (int w=0; w<fila.length; w++) {
+		long bits = fila[w];
+		while (bits != 0) {
+		    salida.append('\n').append(i).append(' ')
+			  .append((w<<6) + Long.numberOfTrailingZeros(bits));
+		    bits &= bits-1;
+		}
+	    }
+	}
+	return salida.toString();
+    }
+
+    /**
+     * Indica si un arco existe en este DiGraph
+     *
+     * @param src el id del nodo origen del arco
+     * @param dst el id del nodo destino del arco
+     * @return true si exite un arco desde el nodo src hasta el nodo dst.
+     * false en caso contrario
+     */
+    @Override
+    public boolean isArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return false;
+
+	return (filas[src][dst>>>6] & (1L << dst)) != 0;
+    }
+
+}
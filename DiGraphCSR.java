@@ -0,0 +1,777 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * DiGraphCSR es una clase que representa un grafo inmutable en formato
+ * CSR (compressed sparse row). Los sucesores del nodo i son
+ * destinos[inicioSuc[i]] .. destinos[inicioSuc[i+1]-1], ordenados de
+ * forma creciente; los predecesores se guardan de la misma forma en
+ * inicioPred y origenes. Cada arco ocupa 8 bytes, 4 por direccion.
+ * Opcionalmente el grafo guarda un costo por arco, alineado con
+ * destinos, que se devuelve en los Arc de getArc, getOutEdges y
+ * getInEdges y que usa MatrizSemianillo.
+ *
+ * Los metodos que modifican arcos o nodos no alteran el grafo y
+ * retornan null o false, segun el caso. El contenido solo se reemplaza
+ * con read(String).
+ * Extiende a DiGraph.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class DiGraphCSR extends DiGraph {
+
+    // inicioSuc[i] es la posicion en destinos del primer sucesor de i;
+    // inicioSuc[numNodes] es el numero de arcos
+    private int inicioSuc[];
+    private int destinos[];
+    // inicioPred[i] es la posicion en origenes del primer predecesor de i
+    private int inicioPred[];
+    private int origenes[];
+    // costos[p] es el costo del arco en destinos[p]; null si el grafo no
+    // tiene costos. posicionSuc[q] es la posicion en destinos del arco en
+    // origenes[q], para los costos de los predecesores
+    private double costos[];
+    private int posicionSuc[];
+
+    /**
+     * Crea un DiGraphCSR con n nodos a partir de los m primeros arcos
+     * (src[i],dst[i]). Los arcos repetidos se cuentan una vez y los arcos
+     * con nodos fuera de rango se ignoran.
+     *
+     * @param n numero de nodos, mayor o igual a 0
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     */
+    public DiGraphCSR(int n, int src[], int dst[], int m) {
+	this.construir(n, src, dst, null, m);
+    }
+
+    /**
+     * Crea un DiGraphCSR con costos con n nodos a partir de los m primeros
+     * arcos (src[i],dst[i]), donde el arco i cuesta costos[i]. De los
+     * arcos repetidos se conserva el primero, con su costo, y los arcos
+     * con nodos fuera de rango se ignoran.
+     *
+     * @param n numero de nodos, mayor o igual a 0
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param costos costos de los arcos
+     * @param m numero de arcos a tomar de src, dst y costos
+     */
+    public DiGraphCSR(int n, int src[], int dst[], double costos[], int m) {
+	this.construir(n, src, dst, costos, m);
+    }
+
+    /**
+     * Precondicion: El grafo de entrada debe ser diferente de null.
+     * Crea un DiGraphCSR con los mismos nodos y arcos del DiGraph g,
+     * obtenidos con g.getPackedArcs(). Los costos solo se copian de los
+     * grafos que pueden tenerlos: de un DiGraphCSR con costos, y de los
+     * Arc de un DiGraphList si alguno cuesta distinto de 0. Los demas
+     * grafos dan un DiGraphCSR sin costos.
+     *
+     * @param g el grafo fuente.
+     */
+    public DiGraphCSR(DiGraph g) {
+	if (g instanceof DiGraphList) {
+	    this.copiarLista((DiGraphList) g);
+	    return;
+	}
+	long arcos[] = g.getPackedArcs();
+	int m = arcos.length;
+	int src[] = new int[m];
+	int dst[] = new int[m];
+	for (int e=0; e<m; e++) {
+	    src[e] = Arc.source(arcos[e]);
+	    dst[e] = Arc.destination(arcos[e]);
+	}
+	// getPackedArcs de un DiGraphCSR sigue el orden de destinos, el
+	// mismo de sus costos
+	double costos[] = g instanceof DiGraphCSR ? ((DiGraphCSR) g).costos : null;
+	this.construir(g.getNumberOfNodes(), src, dst, costos, m);
+    }
+
+    /**
+     * Implementacion de DiGraphCSR(DiGraph) para un DiGraphList, que lee
+     * los arcos y sus costos de las vistas de sucesores
+     */
+    private void copiarLista(DiGraphList g) {
+	int n = g.getNumberOfNodes();
+	int m = 0;
+	for (int v=0; v<n; v++) {
+	    m += g.getOutDegree(v);
+	}
+	int src[] = new int[m];
+	int dst[] = new int[m];
+	double costos[] = new double[m];
+	boolean conCostos = false;
+	int e = 0;
+	for (int v=0; v<n; v++) {
+	    List<Arc> arcos = g.getOutEdgesView(v);
+	    for (int j=0; j<arcos.size() && e<m; j++, e++) {
+		Arc arco = arcos.get(j);
+		src[e] = v;
+		dst[e] = arco.getDestination();
+		costos[e] = arco.getCost();
+		conCostos = conCostos || costos[e]!=0;
+	    }
+	}
+	this.construir(n, src, dst, conCostos ? costos : null, e);
+    }
+
+    /**
+     * Crea un DiGraphCSR a partir del contenido del archivo, en el mismo
+     * formato que DiGraphMatrix(String).
+     *
+     * @param fileName nombre del archivo
+     * @throws FileNotFoundException, IOException, NumberFormatException
+     */
+    public DiGraphCSR(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	this.read(fileName);
+    }
+
+    /**
+     * Precondicion: cada filas[i] esta ordenada de forma creciente, sin
+     * repetidos y con nodos entre 0 y filas.length-1.
+     * Crea un DiGraphCSR donde los sucesores del nodo i son filas[i], sin
+     * volver a ordenarlos. Las filas se sueltan a medida que se copian:
+     * al terminar todas las posiciones de filas son null.
+     *
+     * @param filas sucesores de cada nodo
+     */
+    DiGraphCSR(int filas[][]) {
+	int n = filas.length;
+	int suc[] = new int[n+1];
+	for (int v=0; v<n; v++) {
+	    suc[v+1] = suc[v] + filas[v].length;
+	}
+	int dst[] = new int[suc[n]];
+	for (int v=0; v<n; v++) {
+	    System.arraycopy(filas[v], 0, dst, suc[v], filas[v].length);
+	    filas[v] = null;
+	}
+	this.numNodes = n;
+	this.numArcs = suc[n];
+	this.inicioSuc = suc;
+	this.destinos = dst;
+	this.trasponer();
+    }
+
+    /**
+     * Crea un DiGraphCSR sin arreglos, para clone()
+     */
+    private DiGraphCSR() {
+    }
+
+    /**
+     * Construye los arreglos CSR en O(n+m) con DiGraph.ordenarArcos, que
+     * deja cada fila ordenada y sin arcos repetidos. Si costos es null el
+     * grafo queda sin costos. Siempre crea arreglos nuevos; los anteriores
+     * pueden estar compartidos con una copia.
+     */
+    private void construir(int n, int src[], int dst[], double costos[], int m) {
+	int suc[] = new int[n+1];
+	int indices[] = costos==null ? null : new int[m];
+	this.destinos = ordenarArcos(n, src, dst, m, suc, indices);
+	this.numNodes = n;
+	this.numArcs = suc[n];
+	this.inicioSuc = suc;
+	this.costos = null;
+	if (costos!=null) {
+	    this.costos = new double[numArcs];
+	    for (int p=0; p<numArcs; p++) {
+		this.costos[p] = costos[indices[p]];
+	    }
+	}
+	this.trasponer();
+    }
+
+    /**
+     * Indica si este grafo guarda costos de los arcos
+     *
+     * @return true si el grafo se creo con costos
+     */
+    public boolean hasCosts() {
+	return costos!=null;
+    }
+
+    /**
+     * Retorna el costo del arco (src,dst)
+     *
+     * @param src nodo fuente
+     * @param dst nodo destino
+     * @return el costo del arco, 0 si el grafo no tiene costos, NaN si el
+     * arco no existe
+     */
+    public double getCost(int src, int dst) {
+	int p = this.posicion(src, dst);
+	if (p<0) {
+	    return Double.NaN;
+	}
+	return costos==null ? 0 : costos[p];
+    }
+
+    /**
+     * Retorna la posicion en destinos del arco (src,dst), -1 si no existe
+     */
+    private int posicion(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return -1;
+
+	return buscar(destinos, inicioSuc[src], inicioSuc[src+1], dst);
+    }
+
+    /**
+     * Retorna todos los arcos codificados con Arc.pack, directamente de
+     * los arreglos CSR
+     *
+     * @return arreglo con getNumberOfArcs() arcos codificados, ordenados
+     * por fuente y luego por destino
+     */
+    @Override
+    public long[] getPackedArcs() {
+	long arcos[] = new long[numArcs];
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicioSuc[v]; p<inicioSuc[v+1]; p++) {
+		arcos[p] = Arc.pack(v, destinos[p]);
+	    }
+	}
+	return arcos;
+    }
+
+    /**
+     * Construye inicioPred y origenes a partir de inicioSuc y destinos.
+     * Recorrer las fuentes en orden creciente deja cada fila ordenada.
+     */
+    private void trasponer() {
+	int pred[] = new int[numNodes+1];
+	for (int p=0; p<numArcs; p++) {
+	    pred[destinos[p]+1]++;
+	}
+	for (int v=0; v<numNodes; v++) {
+	    pred[v+1] += pred[v];
+	}
+	int siguiente[] = pred.clone();
+	int orig[] = new int[numArcs];
+	int pos[] = costos==null ? null : new int[numArcs];
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicioSuc[v]; p<inicioSuc[v+1]; p++) {
+		int q = siguiente[destinos[p]]++;
+		orig[q] = v;
+		if (pos!=null) {
+		    pos[q] = p;
+		}
+	    }
+	}
+	this.inicioPred = pred;
+	this.origenes = orig;
+	this.posicionSuc = pos;
+    }
+
+    /**
+     * Retorna una copia de este grafo. La copia comparte los arreglos CSR
+     * con el original: ningun metodo los modifica, y read(String) construye
+     * arreglos nuevos en lugar de reescribirlos, asi que leer un archivo en
+     * la copia no altera el original.
+     *
+     * @return un DiGraphCSR con los mismos nodos, arcos y costos
+     */
+    @Override
+    public DiGraphCSR clone() {
+	DiGraphCSR copia = new DiGraphCSR();
+	copia.numNodes = numNodes;
+	copia.numArcs = numArcs;
+	copia.inicioSuc = inicioSuc;
+	copia.destinos = destinos;
+	copia.inicioPred = inicioPred;
+	copia.origenes = origenes;
+	copia.costos = costos;
+	copia.posicionSuc = posicionSuc;
+	return copia;
+    }
+
+    /**
+     * No agrega nodos: el grafo es inmutable.
+     *
+     * @param num numero de nodos a agregar
+     */
+    public void addNodes(int num) {
+    }
+
+    /**
+     * No agrega el arco: el grafo es inmutable.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return null
+     */
+    public Arc addArc(int src, int dst) {
+	return null;
+    }
+
+    /**
+     * No agrega el arco: el grafo es inmutable.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @param costo del arco
+     * @return null
+     */
+    public Arc addArc(int src, int dst, double costo) {
+	return null;
+    }
+
+    /**
+     * No agrega los arcos: el grafo es inmutable.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos
+     * @return 0
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	return 0;
+    }
+
+    /**
+     * No elimina el arco: el grafo es inmutable.
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     * @return null
+     */
+    public Arc delArc(int nodeIniId, int nodeFinId) {
+	return null;
+    }
+
+    /**
+     * No elimina arcos: el grafo es inmutable.
+     *
+     * @return una lista vacia
+     */
+    public List<Arc> removeAllArcs() {
+	return new ListaArreglo<Arc>();
+    }
+
+    /**
+     * No invierte el arco: el grafo es inmutable.
+     *
+     * @param nodeIniId nodo fuente del arco antes de invertirlo
+     * @param nodeFinId nodo destino del arco antes de invertirlo
+     * @return false
+     */
+    public boolean reverseArc(int nodeIniId, int nodeFinId) {
+	return false;
+    }
+
+    /**
+     * No invierte los arcos: el grafo es inmutable.
+     *
+     * @return false
+     */
+    public boolean reverseArcs() {
+	return false;
+    }
+
+    /**
+     * Busca dst en la fila [ini, fin) de a con busqueda binaria.
+     *
+     * @return la posicion de dst en a, -1 si no esta
+     */
+    private static int buscar(int a[], int ini, int fin, int dst) {
+	fin--;
+	while (ini <= fin) {
+	    int medio = (ini+fin) >>> 1;
+	    if (a[medio] < dst) {
+		ini = medio+1;
+	    } else if (a[medio] > dst) {
+		fin = medio-1;
+	    } else {
+		return medio;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Indica si un arco existe en este DiGraph, con busqueda binaria
+     * sobre los sucesores de src.
+     *
+     * @param src el id del nodo origen del arco
+     * @param dst el id del nodo destino del arco
+     * @return true si exite un arco desde el nodo src hasta el nodo dst.
+     * false en caso contrario
+     */
+    @Override
+    public boolean isArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return false;
+
+	return buscar(destinos, inicioSuc[src], inicioSuc[src+1], dst) >= 0;
+    }
+
+    /**
+     * Retorna el Arco cuyo nodo fuente es nodoSrc y nodo destino es nodoDst.
+     *
+     * @param nodoSrc nodo fuente
+     * @param nodoDst nodo destino
+     * @return el arco (nodoSrc,nodoDst), null si no pertenece al grafo
+     */
+    public Arc getArc(int nodoSrc, int nodoDst) {
+	int p = this.posicion(nodoSrc, nodoDst);
+	if (p<0) {
+	    return null;
+	}
+	Arc arco = new Arc(nodoSrc,nodoDst);
+	if (costos!=null) {
+	    arco.setCost(costos[p]);
+	}
+	return arco;
+    }
+
+    /**
+     * Retorna la lista de predecesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @return lista de predecesores de nodeId en orden creciente, null si
+     * nodeId no es un nodo del grafo
+     */
+    public List<Integer> getPredecesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	for (int p=inicioPred[nodeId]; p<inicioPred[nodeId+1]; p++) {
+	    lista.add(origenes[p]);
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de sucesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @return lista de sucesores de nodeId en orden creciente, null si
+     * nodeId no es un nodo del grafo
+     */
+    public List<Integer> getSucesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	for (int p=inicioSuc[nodeId]; p<inicioSuc[nodeId+1]; p++) {
+	    lista.add(destinos[p]);
+	}
+	return lista;
+    }
+
+    /**
+     * Copia los predecesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo con espacio para getInDegree(nodeId) elementos
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int ini = inicioPred[nodeId];
+	int k = inicioPred[nodeId+1] - ini;
+	System.arraycopy(origenes, ini, destino, 0, k);
+	return k;
+    }
+
+    /**
+     * Copia los sucesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo con espacio para getOutDegree(nodeId) elementos
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int ini = inicioSuc[nodeId];
+	int k = inicioSuc[nodeId+1] - ini;
+	System.arraycopy(destinos, ini, destino, 0, k);
+	return k;
+    }
+
+    /**
+     * Visita los predecesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	for (int p=inicioPred[nodeId]; p<inicioPred[nodeId+1]; p++) {
+	    visitante.visitar(origenes[p]);
+	}
+	return true;
+    }
+
+    /**
+     * Visita los sucesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	for (int p=inicioSuc[nodeId]; p<inicioSuc[nodeId+1]; p++) {
+	    visitante.visitar(destinos[p]);
+	}
+	return true;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como fuente
+     * @param nodeId identificador del nodo
+     * @return la lista de arcos que tienen a nodeId como fuente, null si
+     * el nodo no pertenece al grafo
+     */
+    public List<Arc> getOutEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Arc> lista = new ListaArreglo<Arc>();
+	for (int p=inicioSuc[nodeId]; p<inicioSuc[nodeId+1]; p++) {
+	    Arc arco = new Arc(nodeId, destinos[p]);
+	    if (costos!=null) {
+		arco.setCost(costos[p]);
+	    }
+	    lista.add(arco);
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como destino
+     * @param nodeId identificador del nodo
+     * @return la lista de arcos que tienen a nodeId como destino, null si
+     * el nodo no pertenece al grafo
+     */
+    public List<Arc> getInEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Arc> lista = new ListaArreglo<Arc>();
+	for (int p=inicioPred[nodeId]; p<inicioPred[nodeId+1]; p++) {
+	    Arc arco = new Arc(origenes[p], nodeId);
+	    if (costos!=null) {
+		arco.setCost(costos[posicionSuc[p]]);
+	    }
+	    lista.add(arco);
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna el grado de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return this.getOutDegree(nodeId) + this.getInDegree(nodeId);
+    }
+
+    /**
+     * Retorna el grado externo de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado externo del nodo nodeId en este Grafo, -1 si el nodo no
+     * se encuentra en el grafo
+     */
+    public int getOutDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return inicioSuc[nodeId+1] - inicioSuc[nodeId];
+    }
+
+    /**
+     * Retorna el grado interno de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado interno del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getInDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return inicioPred[nodeId+1] - inicioPred[nodeId];
+    }
+
+    /**
+     * Retorna el numero de nodos en el grafo
+     *
+     * @return numero de nodos en el grafo
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+    /**
+     * Retorna el numero de arcos en el grafo
+     *
+     * @return numero de arcos en el grafo
+     */
+    public int getNumberOfArcs() {
+	return numArcs;
+    }
+
+    /**
+     * Reemplaza este grafo por el grafo contenido en el archivo.
+     * El número de nodos debe ser mayor a 0, y el número de arcos
+     * reportados por el archivo deben coincidir con el número de arcos
+     * en el archivo. Los arcos con nodos fuera de rango se ignoran.
+     *
+     * @param fileName nombre del archivo que contiene la representacion del
+     * grafo a cargar
+     * @throws java.io.IOException, FileNotFoundException, NumberFormatException
+     */
+    public void read(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	LectorArcos lector = new LectorArcos(fileName);
+	int arcos[][] = lector.leerArcos();
+	this.construir(lector.getNumberOfNodes(), arcos[0], arcos[1], null, arcos[0].length);
+    }
+
+    /**
+     * Escribe este DiGraph en un archivo en el formato establecido en el enunciado
+     *
+     * @param fileName nombre del archivo donde se escribira la representacion
+     * del grafo
+     * @throws java.io.IOException
+     */
+    public void write(String fileName) throws IOException {
+	PrintStream out = new PrintStream(fileName);
+	out.print(numNodes + " " + numArcs + "\n");
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicioSuc[v]; p<inicioSuc[v+1]; p++) {
+		out.print(v + " " + destinos[p] + "\n");
+	    }
+	}
+	out.close();
+    }
+
+    /**
+     * Determina si el DiGraph g es igual a este DiGraph
+     *
+     * @param g el grafo con el que se quiere comparar
+     * @return true si los dos DiGraph contienen los mismos nodos y los mismos
+     * arcos
+     */
+    public boolean equals(DiGraph g) {
+	if (g==null || g.getNumberOfNodes()!=numNodes
+		|| g.getNumberOfArcs()!=numArcs) {
+	    return false;
+	}
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicioSuc[v]; p<inicioSuc[v+1]; p++) {
+		if (!g.isArc(v, destinos[p])) {
+		    return false;
+		}
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna un DiGraphCSR que es la clausura transitiva reflexiva de
+     * este DiGraph. En vez de Roy-Warshall se hace un recorrido en
+     * anchura desde cada nodo, lo que cuesta O(n·m) en lugar de O(n³).
+     *
+     * Este metodo no altera este grafo <i>this</i>
+     *
+     * @return un DiGraphCSR que es la clausura transitiva de este DiGraph
+     */
+    public DiGraph royWarshall() {
+	int n = numNodes;
+	int suc[] = new int[n+1];
+	int dst[] = new int[Math.max(n, numArcs)];
+	int marca[] = new int[n];
+	int cola[] = new int[n];
+	int k = 0;
+
+	for (int v=0; v<n; v++) {
+	    suc[v] = k;
+	    int ini = 0;
+	    int fin = 0;
+	    cola[fin++] = v;
+	    marca[v] = v+1;
+	    while (ini<fin) {
+		int u = cola[ini++];
+		for (int p=inicioSuc[u]; p<inicioSuc[u+1]; p++) {
+		    int w = destinos[p];
+		    if (marca[w]!=v+1) {
+			marca[w] = v+1;
+			cola[fin++] = w;
+		    }
+		}
+	    }
+	    if (k+fin > dst.length) {
+		dst = java.util.Arrays.copyOf(dst, Math.max(2*dst.length, k+fin));
+	    }
+	    System.arraycopy(cola, 0, dst, k, fin);
+	    java.util.Arrays.sort(dst, k, k+fin);
+	    k += fin;
+	}
+	suc[n] = k;
+
+	DiGraphCSR g = new DiGraphCSR(0, new int[0], new int[0], 0);
+	g.numNodes = n;
+	g.numArcs = k;
+	g.inicioSuc = suc;
+	g.destinos = java.util.Arrays.copyOf(dst, k);
+	g.trasponer();
+	return g;
+    }
+
+    /**
+     * Retorna la representacion en String de este DiGraph.
+     * @return la representacion en String de este DiGraph.
+     */
+    @Override
+    public String toString() {
+	StringBuilder salida = new StringBuilder();
+	salida.append(numNodes).append(' ').append(numArcs);
+	for (int v=0; v<numNodes; v++) {
+	    for (int p=inicioSuc[v]; p<inicioSuc[v+1]; p++) {
+		salida.append('\n').append(v).append(' ').append(destinos[p]);
+	    }
+	}
+	return salida.toString();
+    }
+
+}
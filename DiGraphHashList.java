@@ -0,0 +1,291 @@
+import java.io.IOException;
+
+/**
+ * DiGraphHashList es un DiGraphList que, ademas de las listas de
+ * adyacencias, guarda por nodo un ConjuntoEnteros con los ids de sus
+ * sucesores. Asi isArc, y la verificacion de repetidos en addArc, toman
+ * tiempo constante esperado en lugar de recorrer la lista comparando
+ * arcos con equals. delArc tambien descarta en tiempo constante los
+ * arcos que no existen; si existe, quitarlo de las listas ordenadas sigue
+ * costando el grado del nodo.
+ *
+ * El orden de las listas es el mismo de DiGraphList: el orden en que se
+ * agregaron los arcos.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class DiGraphHashList extends DiGraphList {
+
+    // sucesores[i] son los ids de los sucesores del nodo i; es null
+    // mientras el nodo no tenga sucesores
+    private ConjuntoEnteros sucesores[];
+
+    /**
+     * Crea un DiGraphHashList con n nodos y sin arcos.
+     * @param n Numero de nodos iniciales del grafo. Tiene que ser mayor a 0
+     */
+    public DiGraphHashList(int n) {
+	super(n);
+	sucesores = new ConjuntoEnteros[n];
+    }
+
+    /**
+     * Crea un DiGraphHashList a partir del contenido de un archivo, con el
+     * mismo formato y las mismas condiciones que DiGraphList(String).
+     * @param fileName Nombre del archivo.
+     * @throws IOException, NumberFormatException
+     */
+    public DiGraphHashList(String fileName) throws IOException, NumberFormatException {
+	// DiGraphList(String) no llama a read(String), asi que los
+	// conjuntos se construyen una sola vez, aqui
+	super(fileName);
+	this.reconstruir();
+    }
+
+    /**
+     * Crea un DiGraphHashList a partir del DiGraph g
+     * @param g Digrafo que se va a copiar. Debe ser distinto de null.
+     */
+    public DiGraphHashList(DiGraph g) {
+	super(g);
+	this.reconstruir();
+    }
+
+    /**
+     * Vuelve a llenar los conjuntos de sucesores a partir de outArcs
+     */
+    private void reconstruir() {
+	sucesores = new ConjuntoEnteros[this.numNodes];
+	for (int i=0; i<this.numNodes; i++) {
+	    int tam = this.outArcs[i].size();
+	    if (tam > 0) {
+		sucesores[i] = new ConjuntoEnteros(tam);
+		for (int j=0; j<tam; j++) {
+		    sucesores[i].add(this.outArcs[i].get(j).getDestination());
+		}
+	    }
+	}
+    }
+
+    /**
+     * Genera una copia de este DiGraphHashList
+     * @return Una copia de este DiGraphHashList
+     */
+    @Override
+    public DiGraphHashList clone() {
+	DiGraphHashList digrafo = new DiGraphHashList(this.numNodes);
+	this.copiarEn(digrafo);
+	for (int i=0; i<this.numNodes; i++) {
+	    if (this.sucesores[i] != null) {
+		digrafo.sucesores[i] = this.sucesores[i].clone();
+	    }
+	}
+	return digrafo;
+    }
+
+    /**
+     * Agrega al grafo la cantidad de nodos especificada
+     * Estos nuevos nodos no tienen lados incidentes
+     * @param num Cantidad de nodos nuevos. No puede ser negativo.
+     */
+    @Override
+    public void addNodes(int num) {
+	super.addNodes(num);
+	ConjuntoEnteros aux[] = new ConjuntoEnteros[this.numNodes];
+	System.arraycopy(sucesores, 0, aux, 0, sucesores.length);
+	sucesores = aux;
+    }
+
+    /**
+     * Agrega al grafo un arco entre los nodos especificados
+     * @param src Nodo inicial
+     * @param dst Nodo terminal
+     * @return Un objeto Arc cuyos nodos inicial y terminal son src y dst.
+     *         Si los nodos no existen o si el arco ya existe devuelve null
+     */
+    @Override
+    public Arc addArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=this.numNodes || dst>=this.numNodes) {
+	    return null;
+	}
+	if (sucesores[src] == null) {
+	    sucesores[src] = new ConjuntoEnteros();
+	}
+	if (!sucesores[src].add(dst)) {
+	    return null;
+	}
+	Arc arco = new Arc(src,dst);
+	this.outArcs[src].add(arco);
+	this.inArcs[dst].add(arco);
+	this.numArcs++;
+	return arco;
+    }
+
+    /**
+     * Agrega al grafo un arco con un costo asociado.
+     * @param src Nodo inicial
+     * @param dst Nodo terminal
+     * @param costo Costo asociado al arco
+     * @return Un objeto Arc cuyos nodos inicial y terminal son src y dst.
+     *         Si los nodos no existen o si el arco ya existe devuelve null
+     */
+    @Override
+    public Arc addArc(int src, int dst, double costo) {
+	Arc arco = this.addArc(src,dst);
+	if (arco != null) {
+	    arco.setCost(costo);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega al grafo los m primeros arcos (src[i],dst[i]) en O(n+m),
+     * buscando los repetidos y los que ya existen en los conjuntos de
+     * sucesores. Los arcos con nodos fuera de rango se ignoran. Los arcos
+     * nuevos de cada nodo se agregan al final de sus listas, en orden
+     * creciente.
+     * @param src Nodos iniciales
+     * @param dst Nodos terminales
+     * @param m Numero de arcos a tomar de src y dst
+     * @return Numero de arcos agregados
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int inicio[] = new int[this.numNodes+1];
+	int destinos[] = ordenarArcos(this.numNodes, src, dst, m, inicio);
+	int agregados = 0;
+	for (int v=0; v<this.numNodes; v++) {
+	    int grado = inicio[v+1]-inicio[v];
+	    if (grado==0) {
+		continue;
+	    }
+	    if (sucesores[v] == null) {
+		sucesores[v] = new ConjuntoEnteros(grado);
+	    }
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		int w = destinos[p];
+		if (sucesores[v].add(w)) {
+		    Arc arco = new Arc(v,w);
+		    this.outArcs[v].add(arco);
+		    this.inArcs[w].add(arco);
+		    agregados++;
+		}
+	    }
+	}
+	this.numArcs += agregados;
+	return agregados;
+    }
+
+    /**
+     * Determina si existe un arco en el grafo, en tiempo constante
+     * esperado
+     * @param src Nodo inicial
+     * @param dst Nodo terminal
+     * @return True si existe el arco, false si no existe o alguno de los nodos
+     *         no existe
+     */
+    @Override
+    public boolean isArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=this.numNodes || dst>=this.numNodes) {
+	    return false;
+	}
+	return sucesores[src] != null && sucesores[src].contains(dst);
+    }
+
+    /**
+     * Devuelve el arco entre los nodos especificados
+     * @param nodoSrc Nodo inicial
+     * @param nodoDst Nodo terminal
+     * @return El arco (nodoSrc,nodoDst), null si no pertenece al grafo
+     */
+    @Override
+    public Arc getArc(int nodoSrc, int nodoDst) {
+	if (!this.isArc(nodoSrc,nodoDst)) {
+	    return null;
+	}
+	return super.getArc(nodoSrc,nodoDst);
+    }
+
+    /**
+     * Elimina un arco del grafo sin crear objetos Arc. delArc tambien
+     * pasa por aqui.
+     * @param nodeIniId Nodo inicial del arco
+     * @param nodeFinId Nodo terminal del arco
+     * @return true si el arco fue eliminado, false si el arco no existe o
+     *         alguno de los nodos no existe
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+	if (!this.isArc(nodeIniId,nodeFinId)) {
+	    return false;
+	}
+	sucesores[nodeIniId].remove(nodeFinId);
+	return super.removeArc(nodeIniId,nodeFinId);
+    }
+
+    /**
+     * Borra todos los arcos del grafo
+     * @return Una lista con todos los arcos del grafo
+     */
+    @Override
+    public List<Arc> removeAllArcs() {
+	List<Arc> salida = super.removeAllArcs();
+	sucesores = new ConjuntoEnteros[this.numNodes];
+	return salida;
+    }
+
+    /**
+     * Invierte la orientación de un arco. Si el arco invertido ya
+     * existia, el grafo queda con un solo arco entre los dos nodos.
+     * @param nodeIniId Nodo inicial del arco antes de invertirlo
+     * @param nodeFinId Nodo terminal del arco antes de invertirlo
+     * @return true si el arco fue invertido, false si no existe
+     */
+    @Override
+    public boolean reverseArc(int nodeIniId, int nodeFinId) {
+	if (!this.removeArc(nodeIniId,nodeFinId)) {
+	    return false;
+	}
+	this.insertArc(nodeFinId,nodeIniId);
+	return true;
+    }
+
+    /**
+     * Invierte la orientación de todos los arcos del grafo.
+     * @return Esta operación siempre es exitosa y devuelve true.
+     */
+    @Override
+    public boolean reverseArcs() {
+	super.reverseArcs();
+	this.reconstruir();
+	return true;
+    }
+
+    /**
+     * Reemplaza el grafo por el grafo contenido en un archivo, con las
+     * mismas condiciones que DiGraphList.read(String)
+     * @param fileName Nombre del archivo
+     * @throws IOException, NumberFormatException
+     */
+    @Override
+    public void read(String fileName) throws IOException, NumberFormatException {
+	super.read(fileName);
+	this.reconstruir();
+    }
+
+    /**
+     * Reemplaza el grafo por el grafo guardado en formato binario por
+     * GrafoBinario
+     * @param fileName Nombre del archivo
+     * @throws IOException
+     */
+    @Override
+    public void readBinary(String fileName) throws IOException {
+	super.readBinary(fileName);
+	this.reconstruir();
+    }
+
+}
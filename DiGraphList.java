@@ -1,9 +1,9 @@
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * DiGraphList es una clase que representa un grafo a traves de la
@@ -21,10 +21,12 @@ public class DiGraphList extends DiGraph {
 
     // Arreglo de lista de los arcos, inArc[i] contiene la lista
     // de los arcos que cuyo destino es el nodo i
-   private List<Arc> inArcs[];
+   protected List<Arc> inArcs[];
     // arreglo de lista de los arcos, outArc[i] contiene la lista
     // de los arcos que cuyo origen es el nodo i
-   private List<Arc> outArcs[];
+   protected List<Arc> outArcs[];
+    // numero de hilos que usa royWarshall()
+   private int paralelismo = 1;
 
     /**
      * Crea un DiGraphList con n nodos y sin arcos.
@@ -36,8 +38,8 @@ public class DiGraphList extends DiGraph {
 	this.numNodes = n;
 	this.numArcs = 0;
 	for (int i=0; i<n; i++) {
-	    inArcs[i]  = new Lista<Arc>();
-	    outArcs[i] = new Lista<Arc>();
+	    inArcs[i]  = new ListaArreglo<Arc>();
+	    outArcs[i] = new ListaArreglo<Arc>();
 	}
     }
 
@@ -47,41 +49,15 @@ public class DiGraphList extends DiGraph {
      * Si el archivo no cumple el formato, lanza NumberFormatException
      * El número de nodos debe ser mayor a 0, y el número de arcos
      * reportados por el archivo deben coincidir con el número de arcos
-     * en el archivo.
+     * en el archivo. Los arcos repetidos o con nodos fuera de rango se
+     * ignoran.
      * @param fileName Nombre del archivo.
      * @throws IOException, NumberFormatException
      */
     public DiGraphList(String fileName) throws IOException, NumberFormatException {
-	BufferedReader in = new BufferedReader(new FileReader(fileName));
-	String linea = in.readLine();
-	String[] tokens = linea.split(" ");
-	boolean ok = true;
-
-	this.numNodes = Integer.parseInt(tokens[0]);
-	this.numArcs  = Integer.parseInt(tokens[1]);
-	inArcs  = new List[numNodes];
-	outArcs = new List[numNodes];
-	
-	for (int i=0; i<numNodes; i++) {
- 	   inArcs[i]  = new Lista<Arc>();
-	   outArcs[i] = new Lista<Arc>();
-	}
-	
-	for (int i=0;i<this.numArcs && (linea = in.readLine())!=null ;i++ ) { 
-	    tokens= linea.split(" ");
-	    int nodoInic= Integer.parseInt(tokens[0]);
-	    int nodoFin = Integer.parseInt(tokens[1]);
-	    if(nodoInic<numNodes && nodoInic>=0 
-				   && nodoFin<numNodes && nodoFin>=0){
-	        if(this.outArcs[nodoInic].contains(new Arc(nodoInic,nodoFin))){
-	    	    numArcs--;
-		}else{
-		    ok =       outArcs[nodoInic].add(new Arc(nodoInic,nodoFin))
-		   	 && inArcs[nodoFin].add(new Arc(nodoInic,nodoFin));
-		}	    
-	    }
-	}
-	
+	// Se usa leer y no read(String): una subclase que redefine read no
+	// debe ejecutarse antes de que su constructor inicialice sus campos
+	this.leer(fileName);
     }
 
     /**
@@ -96,10 +72,10 @@ public class DiGraphList extends DiGraph {
 	boolean ok;
 	
 	for (int i=0; i<numNodes; i++) {
-	    outArcs[i] = new Lista<Arc>();
+	    outArcs[i] = new ListaArreglo<Arc>();
 	    for(int k=0; k<numNodes; k++){
 		if (inArcs[k]==null) {
-		    inArcs[k] = new Lista<Arc>();
+		    inArcs[k] = new ListaArreglo<Arc>();
 		}
 		if (g.isArc(i,k)) {
 		    ok = outArcs[i].add(new Arc(i,k));
@@ -116,12 +92,23 @@ public class DiGraphList extends DiGraph {
     @Override
     public DiGraphList clone() {
 	DiGraphList digrafo = new DiGraphList(this.numNodes);
+	this.copiarEn(digrafo);
+	return digrafo;
+    }
+
+    /**
+     * Copia las listas de arcos, el numero de arcos y el paralelismo de
+     * este grafo en digrafo, que debe tener los mismos nodos. Lo usan
+     * clone() y el clone() de las subclases.
+     * @param digrafo Grafo destino de la copia
+     */
+    protected void copiarEn(DiGraphList digrafo) {
 	digrafo.numArcs = this.numArcs;
 	for (int i=0; i<this.numNodes; i++) {
 	    digrafo.inArcs[i]  = this.inArcs[i].clone();
 	    digrafo.outArcs[i] = this.outArcs[i].clone();
 	}
-	return digrafo;
+	digrafo.paralelismo = this.paralelismo;
     }
 
     /**
@@ -137,8 +124,8 @@ public class DiGraphList extends DiGraph {
 	    outArcsTemp[i] = this.outArcs[i];
 	}
 	for (int i=this.numNodes; i<this.numNodes+num; i++) {
-	    inArcsTemp[i]  = new Lista<Arc>();
-	    outArcsTemp[i] = new Lista<Arc>();
+	    inArcsTemp[i]  = new ListaArreglo<Arc>();
+	    outArcsTemp[i] = new ListaArreglo<Arc>();
 	}
 	this.inArcs  = inArcsTemp;
 	this.outArcs = outArcsTemp;
@@ -193,6 +180,47 @@ public class DiGraphList extends DiGraph {
 	}
     }
 
+    /**
+     * Agrega al grafo los m primeros arcos (src[i],dst[i]) en O(n+m+k),
+     * donde k es el numero de arcos que ya salen de las fuentes de los
+     * arcos nuevos. Los arcos repetidos, los que ya existen y los que
+     * tienen nodos fuera de rango se ignoran. Los arcos nuevos de cada
+     * nodo se agregan al final de sus listas, en orden creciente.
+     * @param src Nodos iniciales
+     * @param dst Nodos terminales
+     * @param m Numero de arcos a tomar de src y dst
+     * @return Numero de arcos agregados
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int inicio[] = new int[this.numNodes+1];
+	int destinos[] = ordenarArcos(this.numNodes, src, dst, m, inicio);
+	// marca[w] == v+1 si el arco (v,w) ya existia
+	int marca[] = new int[this.numNodes];
+	int agregados = 0;
+	for (int v=0; v<this.numNodes; v++) {
+	    if (inicio[v]==inicio[v+1]) {
+		continue;
+	    }
+	    List<Arc> salida = this.outArcs[v];
+	    int grado = salida.size();
+	    for (int j=0; j<grado; j++) {
+		marca[salida.get(j).getDestination()] = v+1;
+	    }
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		int w = destinos[p];
+		if (marca[w] != v+1) {
+		    Arc arco = new Arc(v,w);
+		    salida.add(arco);
+		    this.inArcs[w].add(arco);
+		    agregados++;
+		}
+	    }
+	}
+	this.numArcs += agregados;
+	return agregados;
+    }
+
     /**
      * Devuelve una lista cuyos elementos son los predecesores del
      * nodo especificado
@@ -205,7 +233,7 @@ public class DiGraphList extends DiGraph {
         if (nodeId<0 || nodeId>=this.numNodes) {
 	    return null;
 	} else {
-            Lista<Integer> predecesores = new Lista<Integer>();
+            ListaArreglo<Integer> predecesores = new ListaArreglo<Integer>();
 	    Arc arco;
 	    int elemento;
 	    boolean estado;
@@ -232,7 +260,7 @@ public class DiGraphList extends DiGraph {
         if (nodeId<0 || nodeId>=this.numNodes) {
 	    return null;
 	} else {
-            Lista<Integer> sucesores = new Lista<Integer>();
+            ListaArreglo<Integer> sucesores = new ListaArreglo<Integer>();
 	    Arc arco;
 	    int elemento;
 	    boolean estado;
@@ -247,6 +275,86 @@ public class DiGraphList extends DiGraph {
 	}
     }
 
+    /**
+     * Copia los predecesores del nodo especificado en el arreglo
+     * destino, en el orden en que se agregaron los arcos
+     * @param nodeId Nodo del que se obtendrán sus predecesores
+     * @param destino Arreglo con espacio para getInDegree(nodeId) elementos
+     * @return El número de predecesores copiados, -1 si el nodo no existe
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+        if (nodeId<0 || nodeId>=this.numNodes) {
+	    return -1;
+	}
+	List<Arc> arcos = this.inArcs[nodeId];
+	int tam = arcos.size();
+	for (int i=0; i<tam; i++) {
+	    destino[i] = arcos.get(i).getSource();
+	}
+	return tam;
+    }
+
+    /**
+     * Copia los sucesores del nodo especificado en el arreglo destino,
+     * en el orden en que se agregaron los arcos
+     * @param nodeId Nodo del que se obtendrán sus sucesores
+     * @param destino Arreglo con espacio para getOutDegree(nodeId) elementos
+     * @return El número de sucesores copiados, -1 si el nodo no existe
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+        if (nodeId<0 || nodeId>=this.numNodes) {
+	    return -1;
+	}
+	List<Arc> arcos = this.outArcs[nodeId];
+	int tam = arcos.size();
+	for (int i=0; i<tam; i++) {
+	    destino[i] = arcos.get(i).getDestination();
+	}
+	return tam;
+    }
+
+    /**
+     * Visita los predecesores del nodo especificado, en el orden en que
+     * se agregaron los arcos
+     * @param nodeId Nodo del que se visitarán sus predecesores
+     * @param visitante Objeto que procesa cada predecesor
+     * @return false si el nodo no existe, true en caso contrario
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+        if (nodeId<0 || nodeId>=this.numNodes) {
+	    return false;
+	}
+	List<Arc> arcos = this.inArcs[nodeId];
+	int tam = arcos.size();
+	for (int i=0; i<tam; i++) {
+	    visitante.visitar(arcos.get(i).getSource());
+	}
+	return true;
+    }
+
+    /**
+     * Visita los sucesores del nodo especificado, en el orden en que
+     * se agregaron los arcos
+     * @param nodeId Nodo del que se visitarán sus sucesores
+     * @param visitante Objeto que procesa cada sucesor
+     * @return false si el nodo no existe, true en caso contrario
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+        if (nodeId<0 || nodeId>=this.numNodes) {
+	    return false;
+	}
+	List<Arc> arcos = this.outArcs[nodeId];
+	int tam = arcos.size();
+	for (int i=0; i<tam; i++) {
+	    visitante.visitar(arcos.get(i).getDestination());
+	}
+	return true;
+    }
+
     /**
      * Regresa un objeto Arc cuyos nodos inicial y terminal son los especificados.
      * Este método es equivalente a llamar al constructor de Arc.
@@ -264,34 +372,78 @@ public class DiGraphList extends DiGraph {
      * Si el archivo no cumple el formato, lanza NumberFormatException
      * El número de nodos debe ser mayor a 0, y el número de arcos
      * reportados por el archivo deben coincidir con el número de arcos
-     * en el archivo.
+     * en el archivo. Los arcos repetidos o con nodos fuera de rango se
+     * ignoran.
      * @param fileName Nombre del archivo
      * @throws IOException, NumberFormatException
      */
     public void read(String fileName) throws IOException, NumberFormatException{
-	BufferedReader in= new BufferedReader(new FileReader(fileName));
-	String linea= in.readLine();
-	String[] tokens= linea.split(" ");
+	this.leer(fileName);
+    }
+
+    /**
+     * Implementacion de read(String), que tambien usa el constructor
+     */
+    private void leer(String fileName) throws IOException, NumberFormatException {
+	LectorArcos lector = new LectorArcos(fileName);
+	int arcos[][] = lector.leerArcos();
+	int n = lector.getNumberOfNodes();
+	int inicio[] = new int[n+1];
+	int destinos[] = ordenarArcos(n, arcos[0], arcos[1], arcos[0].length, inicio);
+	arcos = null;
+
+	// Como el grafo empieza vacio, cada lista se crea con su tamaño final
+	int gradoEntrada[] = new int[n];
+	for (int p=0; p<inicio[n]; p++) {
+	    gradoEntrada[destinos[p]]++;
+	}
+	this.numNodes = n;
+	this.numArcs  = inicio[n];
+	inArcs  = new List[n];
+	outArcs = new List[n];
+	for (int i=0; i<n; i++) {
+	    inArcs[i] = new ListaArreglo<Arc>(gradoEntrada[i]);
+	    outArcs[i] = new ListaArreglo<Arc>(inicio[i+1]-inicio[i]);
+	}
+	for (int v=0; v<n; v++) {
+	    for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		Arc arco = new Arc(v,destinos[p]);
+		outArcs[v].add(arco);
+		inArcs[destinos[p]].add(arco);
+	    }
+	}
+    }
+
+    /**
+     * Carga en este grafo el grafo guardado en formato binario por
+     * GrafoBinario. Borra el grafo anterior; la clausura y los nombres
+     * del archivo, si los tiene, se ignoran.
+     * Si el archivo no existe o no tiene el formato binario lanza
+     * IOException
+     * @param fileName Nombre del archivo
+     * @throws IOException
+     */
+    public void readBinary(String fileName) throws IOException {
+	GrafoBinario archivo = new GrafoBinario(fileName);
+	int arcos[][] = archivo.leerArcos();
 	boolean ok;
 
-	this.numNodes= Integer.parseInt(tokens[0]);
-	this.numArcs = Integer.parseInt(tokens[1]);
+	this.numNodes = archivo.getNumberOfNodes();
+	this.numArcs  = archivo.getNumberOfArcs();
 	inArcs  = new List[numNodes];
 	outArcs = new List[numNodes];
-	
 	for (int i=0; i<numNodes; i++) {
-	    inArcs[i] = new Lista<Arc>();
-	    outArcs[i] = new Lista<Arc>();
+	    inArcs[i] = new ListaArreglo<Arc>();
+	    outArcs[i] = new ListaArreglo<Arc>();
 	}
-	
-	for (int i=0;i<this.numArcs && (linea = in.readLine())!=null;i++) { 
-	    tokens= linea.split(" ");
-	    int nodoInic= Integer.parseInt(tokens[0]);
-	    int nodoFin = Integer.parseInt(tokens[1]);
-	    ok =    outArcs[nodoInic].add(new Arc(nodoInic,nodoFin))
-	         && inArcs[nodoFin].add(new Arc(nodoInic,nodoFin));
+
+	// Los arcos del archivo no se repiten, asi que no hace falta
+	// buscarlos antes de agregarlos
+	for (int e=0; e<numArcs; e++) {
+	    Arc arco = new Arc(arcos[0][e], arcos[1][e]);
+	    ok =    outArcs[arco.getSource()].add(arco)
+	         && inArcs[arco.getDestination()].add(arco);
 	}
-	
     }
 
     /**
@@ -397,6 +549,38 @@ public class DiGraphList extends DiGraph {
 	}
     }
 
+    /**
+     * Devuelve una vista de solo lectura de la lista de arcos que salen
+     * de un nodo, en tiempo constante y sin copiarla. La vista refleja los
+     * cambios posteriores del grafo mientras no se vuelva a leer con read
+     * o readBinary.
+     * @param nodeId Nodo del grafo
+     * @return Una vista de los arcos que salen del nodo especificado;
+     *         Devuelve null si el nodo no existe
+     */
+    @Override
+    public List<Arc> getOutEdgesView(int nodeId) {
+	if (nodeId<0 || nodeId>=this.numNodes) {
+	    return null;
+	}
+	return new VistaLista<Arc>(this.outArcs[nodeId]);
+    }
+
+    /**
+     * Devuelve una vista de solo lectura de la lista de arcos que apuntan
+     * a un nodo, con las mismas condiciones que getOutEdgesView
+     * @param nodeId Nodo del grafo
+     * @return Una vista de los arcos que apuntan al nodo especificado;
+     *         Devuelve null si el nodo no existe
+     */
+    @Override
+    public List<Arc> getInEdgesView(int nodeId) {
+	if (nodeId<0 || nodeId>=this.numNodes) {
+	    return null;
+	}
+	return new VistaLista<Arc>(this.inArcs[nodeId]);
+    }
+
     /**
      * Borra un arco del grafo
      * @param nodeIniId Nodo inicial
@@ -405,30 +589,53 @@ public class DiGraphList extends DiGraph {
      *         de los nodos o el arco no existe.
      */
     public Arc delArc(int nodeIniId, int nodeFinId) {
-        if (    nodeIniId<0 || nodeFinId<0 
-	     || nodeIniId >= this.numNodes 
-	     || nodeFinId >= this.numNodes
-	     || !this.outArcs[nodeIniId].contains(new Arc(nodeIniId,nodeFinId))) {
-	    return null;
+        if (this.removeArc(nodeIniId,nodeFinId)) {
+	    return new Arc(nodeIniId, nodeFinId);
 	} else {
-	    Arc arco = new Arc(nodeIniId, nodeFinId);
-	    if (   this.outArcs[nodeIniId].remove(arco) 
-		&& this.inArcs[nodeFinId].remove(arco) ) {
-		this.numArcs--;
-		return arco;
-	    } else {
-		return null;
-	    }
+	    return null;
 	}
     }
 
+    /**
+     * Borra un arco del grafo sin crear objetos Arc: busca su posicion en
+     * las dos listas comparando los ids de los nodos
+     * @param nodeIniId Nodo inicial
+     * @param nodeFinId Nodo terminal
+     * @return true si el arco fue eliminado, false si alguno de los nodos
+     *         o el arco no existe.
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+        if (nodeIniId<0 || nodeFinId<0 || nodeIniId>=this.numNodes
+	    || nodeFinId>=this.numNodes) {
+	    return false;
+	}
+	List<Arc> salida = this.outArcs[nodeIniId];
+	int i = 0;
+	while (i<salida.size() && salida.get(i).getDestination()!=nodeFinId) {
+	    i++;
+	}
+	if (i==salida.size()) {
+	    return false;
+	}
+	List<Arc> entrada = this.inArcs[nodeFinId];
+	int j = 0;
+	while (entrada.get(j).getSource()!=nodeIniId) {
+	    j++;
+	}
+	salida.remove(i);
+	entrada.remove(j);
+	this.numArcs--;
+	return true;
+    }
+
     /**
      * Borra todos los arcos del grafo
      * @return Una lista con todos los arcos del grafo
      */
     public List<Arc> removeAllArcs() {
 	boolean error;
-	Lista<Arc> salida = new Lista<Arc>();
+	ListaArreglo<Arc> salida = new ListaArreglo<Arc>();
 	for (int i=0; i<this.numNodes; i++) {
 	    for(int j=0; j<this.outArcs[i].size(); j++) {
 		error = salida.add(this.outArcs[i].get(j));
@@ -478,7 +685,7 @@ public class DiGraphList extends DiGraph {
 	    destinoNuevo =  arco.getSource();
 	    origenNuevo =  arco.getDestination();
 	    this.numArcs--;
-	    arco = this.addArc(origenNuevo,destinoNuevo);
+	    this.insertArc(origenNuevo,destinoNuevo);
 	}
 	this.numArcs = arcos;
 	return true;
@@ -509,42 +716,185 @@ public class DiGraphList extends DiGraph {
     }
 
     /**
-     * Retorna un Digraph que es la clausura transitiva de este DiGraph
-     * @return un Digraph que es la clausura transitiva de este DiGraph
+     * Establece el numero de hilos que usa royWarshall(). Con un valor
+     * mayor a 1 los nodos fuente se reparten entre los hilos de un
+     * ForkJoinPool; el resultado es identico al de la version secuencial.
+     *
+     * @param hilos numero de hilos. Si es menor a 1 se usa 1.
      */
+    public void setParallelism(int hilos) {
+	this.paralelismo = hilos < 1 ? 1 : hilos;
+    }
 
+    /**
+     * Retorna el numero de hilos que usa royWarshall()
+     *
+     * @return el numero de hilos que usa royWarshall()
+     */
+    public int getParallelism() {
+	return paralelismo;
+    }
+
+    /**
+     * Retorna un Digraph que es la clausura transitiva de este DiGraph.
+     * Se hace un recorrido desde cada nodo fuente, con un costo de O(n·m)
+     * en lugar de comparar listas de arcos. Usa el numero de hilos
+     * establecido con setParallelism(int).
+     *
+     * El resultado siempre es un DiGraphBitMatrix, que se puede modificar
+     * y ocupa n²/8 bytes. Para clausuras dispersas ver clausuraCompacta().
+     *
+     * @return un DiGraphBitMatrix que es la clausura transitiva de este
+     * DiGraph
+     */
     public DiGraph royWarshall() {
-	Lista<Arc> nuevos = new Lista<Arc>();
-	boolean error;
-	Arc arco;
-	DiGraph salida = new DiGraphList(this.numNodes);
-	//Extraer todos los arcos del grafo
+	return new DiGraphBitMatrix(this.cerrar(true).densas);
+    }
+
+    /**
+     * Retorna la clausura transitiva de este DiGraph como un DiGraphCSR,
+     * que ocupa unos 4 bytes por arco en lugar de los n²/8 bytes de
+     * royWarshall(). Conviene cuando la clausura tiene menos de n²/32
+     * arcos. Se calcula igual que royWarshall().
+     *
+     * El resultado siempre es inmutable: sus metodos de modificacion no
+     * alteran el grafo y retornan null o false.
+     *
+     * @return un DiGraphCSR que es la clausura transitiva de este DiGraph
+     */
+    public DiGraphCSR clausuraCompacta() {
+	return new DiGraphCSR(this.cerrar(false).dispersas);
+    }
+
+    /**
+     * Calcula las filas de la clausura, como bits si densa es true y
+     * como arreglos ordenados si no.
+     */
+    private EstadoClausura cerrar(boolean densa) {
+	// Sucesores en formato CSR para recorrerlos sin objetos Arc
+	int inicio[] = new int[this.numNodes+1];
 	for (int i=0; i<this.numNodes; i++) {
-	    for (int j=0; j<this.outArcs[i].size(); j++) {
-		arco = (Arc) this.outArcs[i].get(j).clone();
-		error = nuevos.add(arco);
+	    inicio[i+1] = inicio[i] + this.outArcs[i].size();
+	}
+	int destinos[] = new int[inicio[this.numNodes]];
+	for (int i=0; i<this.numNodes; i++) {
+	    this.copiarSucesores(i, destinos, inicio[i]);
+	}
+
+	EstadoClausura estado = new EstadoClausura(inicio, destinos, this.numNodes, densa);
+	if (paralelismo > 1 && this.numNodes > 1) {
+	    ForkJoinPool pool = new ForkJoinPool(paralelismo);
+	    int umbral = Math.max(1, this.numNodes / (8*paralelismo));
+	    try {
+		pool.invoke(new RecorridoClausura(estado, 0, this.numNodes, umbral));
+	    } finally {
+		pool.shutdown();
+	    }
+	} else {
+	    recorrer(estado, 0, this.numNodes);
+	}
+	return estado;
+    }
+
+    /**
+     * Copia los sucesores del nodo i en destino a partir de la posicion
+     * desde
+     */
+    private void copiarSucesores(int i, int destino[], int desde) {
+	List<Arc> arcos = this.outArcs[i];
+	int tam = arcos.size();
+	for (int k=0; k<tam; k++) {
+	    destino[desde+k] = arcos.get(k).getDestination();
+	}
+    }
+
+    /**
+     * Estado que comparten las tareas de cerrar(): el grafo en formato
+     * CSR y las filas de la clausura, dispersas o de bits.
+     */
+    private static class EstadoClausura {
+	final int inicio[], destinos[];
+	// dispersas[s] son los nodos alcanzables desde s, ordenados; null
+	// si la clausura es de bits. Cada fila la escribe una sola tarea.
+	final int dispersas[][];
+	// filas de bits de la clausura; null si es dispersa
+	final long densas[][];
+
+	EstadoClausura(int inicio[], int destinos[], int n, boolean densa) {
+	    this.inicio = inicio;
+	    this.destinos = destinos;
+	    this.dispersas = densa ? null : new int[n][];
+	    this.densas = densa ? new long[n][(n+63)>>>6] : null;
+	}
+    }
+
+    /**
+     * Calcula las filas [ini, fin) de la clausura con un recorrido en
+     * anchura desde cada nodo.
+     */
+    private static void recorrer(EstadoClausura estado, int ini, int fin) {
+	int inicio[] = estado.inicio;
+	int destinos[] = estado.destinos;
+	int n = inicio.length-1;
+	// marca[v]==s+1 si v ya se alcanzo desde s
+	int marca[] = new int[n];
+	int cola[] = new int[n];
+	for (int s=ini; s<fin; s++) {
+	    int primero = 0;
+	    int tam = 0;
+	    marca[s] = s+1;
+	    cola[tam++] = s;
+	    while (primero < tam) {
+		int v = cola[primero++];
+		for (int p=inicio[v]; p<inicio[v+1]; p++) {
+		    int w = destinos[p];
+		    if (marca[w] != s+1) {
+			marca[w] = s+1;
+			cola[tam++] = w;
+		    }
+		}
 	    }
-	    //Agrega los arcos reflexivos al grafo salida
-	    arco = salida.addArc(i,i);
-	}
-
-	int origen, intermedio, destino;
-	//Generar los arcos transitivos
-	for (int i=0; i<nuevos.size(); i++) {
-	    origen = nuevos.get(i).getSource();
-	    intermedio = nuevos.get(i).getDestination();
-	    arco = salida.addArc(origen,intermedio);
-	    for (int j=0; j<outArcs[intermedio].size(); j++) {
-		destino = outArcs[intermedio].get(j).getDestination();
-		arco = new Arc(origen,destino);
-		if (   origen!=destino && intermedio!=destino 
-		    && !nuevos.contains(arco)
-		    && !outArcs[origen].contains(arco)) {
-			error = nuevos.add(arco);
+
+	    if (estado.densas==null) {
+		int fila[] = java.util.Arrays.copyOf(cola, tam);
+		java.util.Arrays.sort(fila);
+		estado.dispersas[s] = fila;
+	    } else {
+		long fila[] = estado.densas[s];
+		for (int k=0; k<tam; k++) {
+		    fila[cola[k]>>>6] |= 1L << cola[k];
 		}
 	    }
 	}
-	return salida;
+    }
+
+    /**
+     * Tarea que calcula un rango de filas de la clausura, dividiendolo a
+     * la mitad mientras tenga mas filas que el umbral. Cada fila solo la
+     * escribe la tarea que la calcula.
+     */
+    private static class RecorridoClausura extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	private final EstadoClausura estado;
+	private final int ini, fin, umbral;
+
+	RecorridoClausura(EstadoClausura estado, int ini, int fin, int umbral) {
+	    this.estado = estado;
+	    this.ini = ini;
+	    this.fin = fin;
+	    this.umbral = umbral;
+	}
+
+	@Override
+	protected void compute() {
+	    if (fin-ini <= umbral) {
+		recorrer(estado, ini, fin);
+	    } else {
+		int medio = (ini+fin) >>> 1;
+		invokeAll(new RecorridoClausura(estado, ini, medio, umbral),
+			  new RecorridoClausura(estado, medio, fin, umbral));
+	    }
+	}
     }
 
     /**
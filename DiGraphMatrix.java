@@ -1,9 +1,9 @@
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * DiGraphMatrix es una clase que representa un grafo a traves
@@ -21,6 +21,12 @@ public class DiGraphMatrix extends DiGraph {
     // estructura de la matriz de adyacencias que se debe utilizar
    private boolean matrix[][];
 
+    // numero de hilos que usa royWarshall(); con 1 la clausura es secuencial
+   private int paralelismo = 1;
+
+    // lado de los bloques que usa royWarshall(); con 0 no se usan bloques
+   private int tamBloque = 0;
+
    /**
     * Precondicion: n>0 
     * Crea un DiGraphMatrix con n nodos y sin arcos
@@ -45,32 +51,7 @@ public class DiGraphMatrix extends DiGraph {
     */
    
    public DiGraphMatrix(String fileName) throws FileNotFoundException, IOException, NumberFormatException{
-	BufferedReader in= new BufferedReader(new FileReader(fileName));
-	String linea= in.readLine();
-	String[] tokens= linea.split(" ");
-
-	//Inicializar variables 
-	this.numNodes= Integer.parseInt(tokens[0]);
-	this.matrix = new boolean[numNodes][numNodes];
-	this.numArcs= Integer.parseInt(tokens[1]);
-	
-
-	for (int i=0;i<this.numArcs && (linea = in.readLine())!=null;i++) {  
-	    tokens= linea.split(" ");
-	    int nodoOrigen= Integer.parseInt(tokens[0]);
-	    int nodoFin= Integer.parseInt(tokens[1]);
-	    if(nodoOrigen<numNodes && nodoOrigen>=0 
-				   && nodoFin<numNodes && nodoFin>=0){
-		if(matrix[nodoOrigen][nodoFin]){ 
-		    numArcs--;
-		}else{ 
-		    matrix[nodoOrigen][nodoFin]= true;
-		}
-	    }
-	    
-	}
-	
-	
+	this.read(fileName);
    }
 
    /**
@@ -106,6 +87,8 @@ public class DiGraphMatrix extends DiGraph {
 	
 	g.numNodes = this.numNodes;
 	g.numArcs = this.numArcs;
+	g.paralelismo = this.paralelismo;
+	g.tamBloque = this.tamBloque;
 	return g;
 	
    }
@@ -142,14 +125,29 @@ public class DiGraphMatrix extends DiGraph {
      *
      */
     public Arc addArc(int src, int dst) {
+	if (!this.insertArc(src,dst))
+	    return null;
+
+	return new Arc(src,dst);
+    }
+
+    /**
+     * Agrega un arco a este DiGraph sin crear un objeto Arc
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue agregado, false si los nodos no son
+     * validos o si el arco ya existia
+     */
+    @Override
+    public boolean insertArc(int src, int dst) {
 	if (src<0 || dst <0 || src>=this.numNodes || dst>=this.numNodes
 		 || matrix[src][dst] ) 
-	    return null;
-	
-        Arc arco= new Arc(src,dst);
+	    return false;
+
 	matrix[src][dst]= true; 
 	this.numArcs++;
-	return arco;
+	return true;
     }
 
     /**
@@ -173,6 +171,31 @@ public class DiGraphMatrix extends DiGraph {
 	return arco;
     }
 	
+    /**
+     * Agrega a este DiGraph los m primeros arcos (src[i],dst[i]) en O(m),
+     * encendiendo directamente las casillas de la matriz. Los arcos
+     * repetidos, los que ya existen y los que tienen nodos fuera de rango
+     * se ignoran.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @return numero de arcos agregados
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int agregados = 0;
+	for (int e=0; e<m; e++) {
+	    int u = src[e], v = dst[e];
+	    if (u>=0 && v>=0 && u<numNodes && v<numNodes && !matrix[u][v]) {
+		matrix[u][v] = true;
+		agregados++;
+	    }
+	}
+	this.numArcs += agregados;
+	return agregados;
+    }
+
     /**
      * Retorna la lista de predecesores del nodo nodeId
      * 
@@ -186,7 +209,7 @@ public class DiGraphMatrix extends DiGraph {
 	    return null;
 
 	boolean ok=true;
- 	Lista<Integer> lista= new Lista<Integer>(); 
+ 	ListaArreglo<Integer> lista= new ListaArreglo<Integer>(); 
 
 	// Recorre la columna del nodeId y si hay arcos agrega 
 	// el predecesor a la lista
@@ -216,7 +239,7 @@ public class DiGraphMatrix extends DiGraph {
 	    return null;
 
 	boolean ok= true;
- 	Lista<Integer> lista= new Lista<Integer>(); 
+ 	ListaArreglo<Integer> lista= new ListaArreglo<Integer>(); 
 
 	// Recorre la fila del nodeId y si hay arcos agrega 
 	// el sucesor a la lista
@@ -232,6 +255,98 @@ public class DiGraphMatrix extends DiGraph {
 	}
     }
 
+    /**
+     * Copia los predecesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo con espacio para getInDegree(nodeId) elementos
+     *
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+	if(nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int k= 0;
+	for(int i=0; i<numNodes; i++){
+	    if(matrix[i][nodeId]){
+		destino[k++]= i;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Copia los sucesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo con espacio para getOutDegree(nodeId) elementos
+     *
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+	if(nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	boolean fila[]= matrix[nodeId];
+	int k= 0;
+	for(int i=0; i<numNodes; i++){
+	    if(fila[i]){
+		destino[k++]= i;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Visita los predecesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	if(nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	for(int i=0; i<numNodes; i++){
+	    if(matrix[i][nodeId]){
+		visitante.visitar(i);
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Visita los sucesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	if(nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	boolean fila[]= matrix[nodeId];
+	for(int i=0; i<numNodes; i++){
+	    if(fila[i]){
+		visitante.visitar(i);
+	    }
+	}
+	return true;
+    }
+
     /**
      * Retorna el Arco cuyo nodo fuente es nodoSrc y nodo destino es nodoDst.
      *
@@ -251,7 +366,8 @@ public class DiGraphMatrix extends DiGraph {
      * contenido en el archivo fileName.
      * El número de nodos debe ser mayor a 0, y el número de arcos
      * reportados por el archivo deben coincidir con el número de arcos
-     * en el archivo.
+     * en el archivo. Los arcos repetidos o con nodos fuera de rango se
+     * ignoran.
      * @param fileName nombre del archivo que contiene la representacion del
      * grafo a cargar
      * 
@@ -259,29 +375,35 @@ public class DiGraphMatrix extends DiGraph {
      */
     public void read(String fileName) throws FileNotFoundException, 
 					IOException, NumberFormatException {
-        BufferedReader in= new BufferedReader(new FileReader(fileName));
-	String linea= in.readLine();
-	String[] tokens= linea.split(" ");
+	LectorArcos lector = new LectorArcos(fileName);
+	int arcos[][] = lector.leerArcos();
 
-	this.numNodes= Integer.parseInt(tokens[0]);
-	this.numArcs= Integer.parseInt(tokens[1]);
+	this.numNodes = lector.getNumberOfNodes();
+	this.numArcs = 0;
 	this.matrix = new boolean[numNodes][numNodes];
-	
-	for (int i=0;i<this.numArcs && (linea = in.readLine())!=null;i++) {  
-	    tokens= linea.split(" ");
-	    int nodoOrigen= Integer.parseInt(tokens[0]);
-	    int nodoFin= Integer.parseInt(tokens[1]);
-	    if(nodoOrigen<numNodes && nodoOrigen>=0 
-				   && nodoFin<numNodes && nodoFin>=0){
-		if(matrix[nodoOrigen][nodoFin]){ 
-		    numArcs--;
-		}else{ 
-		    matrix[nodoOrigen][nodoFin]= true;
-		}
-	    }
-	    
+	this.addArcs(arcos[0], arcos[1], arcos[0].length);
+    }
+
+    /**
+     * Carga en este DiGraph el grafo guardado en formato binario por
+     * GrafoBinario. Borra el grafo anterior; la clausura y los nombres
+     * del archivo, si los tiene, se ignoran.
+     *
+     * @param fileName nombre del archivo
+     *
+     * @throws java.io.IOException, FileNotFoundException si el archivo no
+     * existe o no tiene el formato binario
+     */
+    public void readBinary(String fileName) throws FileNotFoundException,
+					IOException {
+	GrafoBinario archivo = new GrafoBinario(fileName);
+	int arcos[][] = archivo.leerArcos();
+	this.numNodes = archivo.getNumberOfNodes();
+	this.numArcs = archivo.getNumberOfArcs();
+	this.matrix = new boolean[numNodes][numNodes];
+	for (int e=0; e<numArcs; e++) {
+	    matrix[arcos[0][e]][arcos[1][e]] = true;
 	}
-	
     }
 
     /**
@@ -402,7 +524,7 @@ public class DiGraphMatrix extends DiGraph {
 	    return null;
 
 	boolean ok= true;
- 	List<Arc> lista= new Lista<Arc>(); 
+ 	List<Arc> lista= new ListaArreglo<Arc>(); 
 
 	// Recorre la fila del nodeId y si hay arcos los agrega 
 	// a la lista
@@ -432,7 +554,7 @@ public class DiGraphMatrix extends DiGraph {
 	    return null;
 
 	boolean ok= true;
- 	List<Arc> lista= new Lista<Arc>(); 
+ 	List<Arc> lista= new ListaArreglo<Arc>(); 
 
 	// Recorre la columna del nodeId y si hay arcos los agrega 
 	// a la lista
@@ -462,15 +584,32 @@ public class DiGraphMatrix extends DiGraph {
 		|| nodeFinId>=this.numNodes) 
 	    return null;
 
-	if(matrix[nodeIniId][nodeFinId]){
-       	    matrix[nodeIniId][nodeFinId]= false;
-	    this.numArcs--;
+	if(this.removeArc(nodeIniId,nodeFinId)){
 	    return (new Arc(nodeIniId,nodeFinId));
 	}else{
 	    return null;
 	}
     }
 
+    /**
+     * Remueve un arco de este DiGraph sin crear un objeto Arc
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     * @return true si el arco fue eliminado, false si no existia o los
+     * nodos no son validos
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+	if (nodeIniId<0 || nodeFinId <0 || nodeIniId>=this.numNodes 
+		|| nodeFinId>=this.numNodes || !matrix[nodeIniId][nodeFinId]) 
+	    return false;
+
+	matrix[nodeIniId][nodeFinId]= false;
+	this.numArcs--;
+	return true;
+    }
+
     /**
      * remueve todos los arcos de este grafo
      *
@@ -478,7 +617,7 @@ public class DiGraphMatrix extends DiGraph {
      */
     public List<Arc> removeAllArcs() {
 
-	List<Arc> lista= new Lista<Arc>();
+	List<Arc> lista= new ListaArreglo<Arc>();
 	boolean ok= true;
 
 	for(int i=0; i<numNodes;i++){
@@ -568,9 +707,150 @@ public class DiGraphMatrix extends DiGraph {
     }
     
 
+    /**
+     * Establece el numero de hilos que usa royWarshall(). Con un valor
+     * mayor a 1, para cada k las filas se reparten entre los hilos de un
+     * ForkJoinPool; el resultado es identico al de la version secuencial.
+     *
+     * @param hilos numero de hilos. Si es menor a 1 se usa 1.
+     */
+    public void setParallelism(int hilos) {
+	this.paralelismo = hilos < 1 ? 1 : hilos;
+    }
+
+    /**
+     * Retorna el numero de hilos que usa royWarshall()
+     *
+     * @return el numero de hilos que usa royWarshall()
+     */
+    public int getParallelism() {
+	return paralelismo;
+    }
+
+    /**
+     * Paso k de Roy-Warshall sobre las filas [ini, fin) de m: cada fila i
+     * que alcanza a k absorbe la fila k. La fila k no cambia durante el
+     * paso, por lo que las filas se pueden actualizar en cualquier orden.
+     */
+    private static void actualizarFilas(boolean m[][], int k, int ini, int fin) {
+	boolean filaK[] = m[k];
+	for (int i=ini; i<fin; i++) {
+	    boolean filaI[] = m[i];
+	    if (i!=k && filaI[k]) {
+		for (int j=0; j<filaK.length; j++) {
+		    filaI[j] = filaI[j] || filaK[j];
+		}
+	    }
+	}
+    }
+
+    /**
+     * Roy-Warshall en paralelo: para cada k las filas se dividen entre
+     * las tareas del pool, y se espera a que terminen todas antes de
+     * pasar al siguiente k.
+     */
+    private static void clausuraParalela(boolean m[][], int hilos) {
+	ForkJoinPool pool = new ForkJoinPool(hilos);
+	int umbral = Math.max(1, m.length / (4*hilos));
+	try {
+	    for (int k=0; k<m.length; k++) {
+		pool.invoke(new PasoClausura(m, k, 0, m.length, umbral));
+	    }
+	} finally {
+	    pool.shutdown();
+	}
+    }
+
+    /**
+     * Tarea que aplica el paso k a un rango de filas, dividiendolo a la
+     * mitad mientras tenga mas filas que el umbral.
+     */
+    private static class PasoClausura extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	private final boolean m[][];
+	private final int k, ini, fin, umbral;
+
+	PasoClausura(boolean m[][], int k, int ini, int fin, int umbral) {
+	    this.m = m;
+	    this.k = k;
+	    this.ini = ini;
+	    this.fin = fin;
+	    this.umbral = umbral;
+	}
+
+	@Override
+	protected void compute() {
+	    if (fin-ini <= umbral) {
+		actualizarFilas(m, k, ini, fin);
+	    } else {
+		int medio = (ini+fin) >>> 1;
+		invokeAll(new PasoClausura(m, k, ini, medio, umbral),
+			  new PasoClausura(m, k, medio, fin, umbral));
+	    }
+	}
+    }
+
+    /**
+     * Establece el lado de los bloques en los que royWarshall() divide la
+     * matriz. Con bloques cada paso recorre solo submatrices que caben en
+     * cache, en vez de toda la matriz por cada k. Un lado de 256 ocupa
+     * 64KB por bloque.
+     *
+     * @param lado lado de los bloques. Si es menor a 1 la clausura no se
+     * calcula por bloques.
+     */
+    public void setBlockSize(int lado) {
+	this.tamBloque = lado < 1 ? 0 : lado;
+    }
+
+    /**
+     * Retorna el lado de los bloques que usa royWarshall(), 0 si la
+     * clausura no se calcula por bloques.
+     *
+     * @return el lado de los bloques que usa royWarshall()
+     */
+    public int getBlockSize() {
+	return tamBloque;
+    }
+
+    /**
+     * Aplica los pasos k en [kIni, kFin) sobre el bloque de filas
+     * [iIni, iFin) y columnas [jIni, jFin) de m.
+     */
+    private static void actualizarBloque(boolean m[][], int kIni, int kFin,
+					 int iIni, int iFin, int jIni, int jFin) {
+	for (int k=kIni; k<kFin; k++) {
+	    boolean filaK[] = m[k];
+	    for (int i=iIni; i<iFin; i++) {
+		boolean filaI[] = m[i];
+		if (i!=k && filaI[k]) {
+		    for (int j=jIni; j<jFin; j++) {
+			filaI[j] = filaI[j] || filaK[j];
+		    }
+		}
+	    }
+	}
+    }
+
+    /**
+     * Roy-Warshall por bloques, con el recorrido de ClausuraPorBloques y
+     * actualizarBloque para cada bloque.
+     */
+    private static void clausuraPorBloques(final boolean m[][], int lado, int hilos) {
+	new ClausuraPorBloques() {
+	    @Override
+	    protected void actualizarBloque(int kIni, int kFin,
+					    int iIni, int iFin, int jIni, int jFin) {
+		DiGraphMatrix.actualizarBloque(m, kIni, kFin, iIni, iFin, jIni, jFin);
+	    }
+	}.cerrar(m.length, lado, hilos);
+    }
+
     /**
      * Retorna un Digraph que es la clausura transitiva de este DiGraph
-     * calculada usando el algoritmo Roy-Warshal
+     * calculada usando el algoritmo Roy-Warshal. Usa el numero de hilos
+     * establecido con setParallelism(int) y, si se establecio, el tamaño
+     * de bloque de setBlockSize(int).
      *
      * @return un Digraph que es la clausura transitiva de este DiGraph
      * calculada usando el algoritmo Roy-Warshal
@@ -591,13 +871,13 @@ public class DiGraphMatrix extends DiGraph {
 	    }
 	}
 
-	for( int k = 0; k < numNodes; ++k ) {
-	    for( int i = 0; i < numNodes; ++i ) {
-		if(i!=k && g.matrix[i][k]){
-		    for(int j=0; j<numNodes; j++){
-			g.matrix[i][j]=  g.matrix[i][j] || g.matrix[k][j];;
-		    }
-		}
+	if (tamBloque > 0 && tamBloque < numNodes) {
+	    clausuraPorBloques(g.matrix, tamBloque, paralelismo);
+	} else if (paralelismo > 1 && numNodes > 1) {
+	    clausuraParalela(g.matrix, paralelismo);
+	} else {
+	    for( int k = 0; k < numNodes; ++k ) {
+		actualizarFilas(g.matrix, k, 0, numNodes);
 	    }
 	}
 
@@ -0,0 +1,922 @@
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * DiGraphOffHeap es una clase que representa un grafo a traves de una
+ * matriz de adyacencias de bits, igual que DiGraphBitMatrix, pero
+ * guardada fuera del heap de Java en ByteBuffers directos. Asi una matriz
+ * grande no alarga las pausas del recolector de basura ni obliga a
+ * aumentar -Xmx. Opcionalmente la matriz se proyecta sobre un archivo, de
+ * modo que persiste y puede superar la memoria fisica.
+ *
+ * Las filas se reparten en trozos de a lo sumo 1GB, porque un ByteBuffer
+ * no puede pasar de 2GB. Cada fila ocupa palabras(n) longs; el bit j de
+ * la fila i indica si existe el arco (i,j).
+ *
+ * La memoria se libera con close(): despues el grafo queda sin nodos.
+ * Extiende a DiGraph.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class DiGraphOffHeap extends DiGraph implements Closeable {
+
+    // tamaño maximo de cada trozo en bytes
+    private static final long TAM_TROZO = 1L << 30;
+
+    // filas de la matriz fuera del heap
+    private Filas filas;
+    // archivo que respalda la matriz, null si vive en memoria anonima
+    private RandomAccessFile archivo;
+
+    /**
+     * Precondicion: n>=0
+     * Crea un DiGraphOffHeap con n nodos y sin arcos, en memoria fuera
+     * del heap.
+     * @param n numero de nodos del grafo
+     */
+    public DiGraphOffHeap(int n) {
+	this.numNodes = n;
+	this.numArcs = 0;
+	this.filas = new Filas(n, palabras(n));
+    }
+
+    /**
+     * Precondicion: n>=0
+     * Crea un DiGraphOffHeap con n nodos respaldado por el archivo
+     * fileName. Si el archivo tiene exactamente el tamaño de una matriz de
+     * n nodos, se conservan sus arcos, lo que permite reabrir un grafo
+     * guardado; si no, el archivo se vacia y el grafo queda sin arcos.
+     * Los cambios se escriben al archivo a mas tardar en close().
+     *
+     * @param n numero de nodos del grafo
+     * @param fileName nombre del archivo que respalda la matriz
+     * @throws IOException si el archivo no se puede crear o proyectar
+     */
+    public DiGraphOffHeap(int n, String fileName) throws IOException {
+	long tam = (long) n * palabras(n) * 8;
+	this.archivo = new RandomAccessFile(fileName, "rw");
+	try {
+	    if (archivo.length() != tam) {
+		archivo.setLength(0);
+		archivo.setLength(tam);
+	    }
+	    this.numNodes = n;
+	    this.filas = new Filas(n, palabras(n), archivo.getChannel());
+	} catch (IOException e) {
+	    archivo.close();
+	    throw e;
+	}
+	this.numArcs = this.contarArcos();
+    }
+
+    /**
+     * Precondicion: El número de nodos debe ser mayor a 0, y el número de arcos
+     * reportados por el archivo deben coincidir con el número de arcos
+     * en el archivo.
+     * Crea un DiGraphOffHeap a partir del contenido del archivo.
+     *
+     * @param fileName nombre del archivo
+     * @throws FileNotFoundException, IOException, NumberFormatException
+     * Arroja NumberFormatException si en el archivo se encuentra algun
+     * caracter que no sea numero.
+     */
+    public DiGraphOffHeap(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	this.read(fileName);
+    }
+
+    /**
+     * Precondicion: El grafo de entrada debe ser diferente de null.
+     * Crea un DiGraphOffHeap a partir del DiGraph g
+     *
+     * @param g el grafo fuente.
+     */
+    public DiGraphOffHeap(DiGraph g) {
+	this(g.getNumberOfNodes());
+	int suc[] = new int[numNodes];
+	for (int i=0; i<numNodes; i++) {
+	    int grado = g.getOutDegree(i);
+	    int k = g.getSucesors(i, grado <= suc.length ? suc : new int[grado]);
+	    for (int j=0; j<k; j++) {
+		this.marcar(i, suc[j]);
+	    }
+	}
+    }
+
+    /**
+     * Numero de palabras de 64 bits necesarias para una fila de n nodos
+     */
+    private static int palabras(int n) {
+	return (n+63)>>>6;
+    }
+
+    /**
+     * Filas de una matriz de bits repartidas en trozos fuera del heap.
+     * Un trozo contiene filasPorTrozo filas completas.
+     */
+    private static class Filas {
+	final ByteBuffer trozos[];
+	final int palabrasFila;
+	final int filasPorTrozo;
+
+	/**
+	 * Reserva n filas de p palabras en memoria anonima, en cero
+	 */
+	Filas(int n, int p) {
+	    this.palabrasFila = p;
+	    this.filasPorTrozo = filasPorTrozo(p);
+	    trozos = new ByteBuffer[numTrozos(n, filasPorTrozo)];
+	    for (int t=0; t<trozos.length; t++) {
+		int filasTrozo = Math.min(filasPorTrozo, n - t*filasPorTrozo);
+		trozos[t] = ByteBuffer.allocateDirect(filasTrozo * p * 8);
+	    }
+	}
+
+	/**
+	 * Proyecta n filas de p palabras sobre el canal, que debe tener al
+	 * menos n*p*8 bytes
+	 */
+	Filas(int n, int p, FileChannel canal) throws IOException {
+	    this.palabrasFila = p;
+	    this.filasPorTrozo = filasPorTrozo(p);
+	    trozos = new ByteBuffer[numTrozos(n, filasPorTrozo)];
+	    for (int t=0; t<trozos.length; t++) {
+		int filasTrozo = Math.min(filasPorTrozo, n - t*filasPorTrozo);
+		long ini = (long) t * filasPorTrozo * p * 8;
+		trozos[t] = canal.map(FileChannel.MapMode.READ_WRITE, ini,
+				      filasTrozo * p * 8);
+	    }
+	}
+
+	private static int filasPorTrozo(int p) {
+	    return (int) Math.max(1, TAM_TROZO / Math.max(8, (long) p*8));
+	}
+
+	private static int numTrozos(int n, int filasPorTrozo) {
+	    return (n + filasPorTrozo - 1) / filasPorTrozo;
+	}
+
+	long get(int fila, int w) {
+	    return trozos[fila / filasPorTrozo]
+		.getLong(((fila % filasPorTrozo) * palabrasFila + w) << 3);
+	}
+
+	void put(int fila, int w, long valor) {
+	    trozos[fila / filasPorTrozo]
+		.putLong(((fila % filasPorTrozo) * palabrasFila + w) << 3, valor);
+	}
+
+	/**
+	 * Copia la fila en el arreglo destino
+	 */
+	void leer(int fila, long destino[]) {
+	    for (int w=0; w<palabrasFila; w++) {
+		destino[w] = this.get(fila, w);
+	    }
+	}
+
+	/**
+	 * Escribe en disco los cambios de los trozos proyectados
+	 */
+	void forzar() {
+	    for (int t=0; t<trozos.length; t++) {
+		if (trozos[t] instanceof MappedByteBuffer) {
+		    ((MappedByteBuffer) trozos[t]).force();
+		}
+	    }
+	}
+    }
+
+    /**
+     * Indica si este grafo esta respaldado por un archivo
+     *
+     * @return true si la matriz se proyecta sobre un archivo
+     */
+    public boolean isFileBacked() {
+	return archivo != null;
+    }
+
+    /**
+     * Libera la memoria de la matriz. Si el grafo esta respaldado por un
+     * archivo, antes escribe los cambios y luego lo cierra. Despues de
+     * close() el grafo queda sin nodos ni arcos; llamarlo de nuevo no
+     * tiene efecto. Java no permite liberar un ByteBuffer directo de
+     * inmediato: la memoria se devuelve cuando el recolector descarta los
+     * buffers, que ya no quedan referenciados.
+     *
+     * @throws IOException si hubo un error al cerrar el archivo
+     */
+    public void close() throws IOException {
+	if (filas == null)
+	    return;
+
+	try {
+	    if (archivo != null) {
+		filas.forzar();
+		archivo.close();
+	    }
+	} finally {
+	    filas = null;
+	    archivo = null;
+	    numNodes = 0;
+	    numArcs = 0;
+	}
+    }
+
+    /**
+     * Genera una copia de este DiGraph en memoria anonima, aunque este
+     * grafo este respaldado por un archivo.
+     * @return una copia de este DiGraph.
+     */
+    @Override
+    public DiGraphOffHeap clone() {
+	DiGraphOffHeap g = new DiGraphOffHeap(numNodes);
+	g.numArcs = this.numArcs;
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		g.filas.put(i, w, this.filas.get(i, w));
+	    }
+	}
+	return g;
+    }
+
+    /**
+     * Permite agregar <i>num</i> nuevos nodos a este DiGraph.
+     * Si el <i>num</i> <=0 entonces no realiza cambios al grafo. Si el
+     * grafo esta respaldado por un archivo, el archivo crece y las filas
+     * se reacomodan dentro de el.
+     *
+     * @param num numero de nodos a agregar
+     * @throws UncheckedIOException si el archivo no se pudo agrandar o
+     * proyectar, por ejemplo porque el disco esta lleno. En ese caso el
+     * grafo queda como estaba.
+     */
+    public void addNodes(int num) {
+	if (num<=0 || filas==null)
+	    return;
+
+	int n = this.numNodes + num;
+	int p = palabras(n);
+	Filas nuevas;
+	if (archivo == null) {
+	    nuevas = new Filas(n, p);
+	} else {
+	    long tamViejo = (long) numNodes * filas.palabrasFila * 8;
+	    try {
+		archivo.setLength((long) n * p * 8);
+		nuevas = new Filas(n, p, archivo.getChannel());
+	    } catch (IOException e) {
+		// Se devuelve el archivo a su tamaño, que es el que cubren
+		// las filas actuales
+		try {
+		    archivo.setLength(tamViejo);
+		} catch (IOException e2) {
+		    e.addSuppressed(e2);
+		}
+		throw new UncheckedIOException("No se pudieron agregar nodos al archivo", e);
+	    }
+	}
+
+	// Se copia de la ultima palabra a la primera: en un archivo cada
+	// palabra se mueve hacia adelante, y asi no se pisa una palabra
+	// que falte por leer
+	int pViejo = filas.palabrasFila;
+	for (int i=numNodes-1; i>=0; i--) {
+	    for (int w=p-1; w>=pViejo; w--) {
+		nuevas.put(i, w, 0);
+	    }
+	    for (int w=pViejo-1; w>=0; w--) {
+		nuevas.put(i, w, filas.get(i, w));
+	    }
+	}
+	this.numNodes = n;
+	this.filas = nuevas;
+    }
+
+    /**
+     * Agrega un arco a este DiGraph
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return El arco agregado, null si los nodos especificados no
+     * son validos o si el arco ya existia
+     */
+    public Arc addArc(int src, int dst) {
+	if (this.marcar(src,dst)) {
+	    return new Arc(src,dst);
+	}
+	return null;
+    }
+
+    /**
+     * Agrega un arco a este DiGraph sin crear un objeto Arc
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @return true si el arco fue agregado, false si los nodos no son
+     * validos o si el arco ya existia
+     */
+    @Override
+    public boolean insertArc(int src, int dst) {
+	return this.marcar(src,dst);
+    }
+
+    /**
+     * Agrega un arco a este DiGraph. El costo no se almacena en la matriz.
+     *
+     * @param src nodo fuente del arco
+     * @param dst nodo destino del arco
+     * @param costo del arco
+     * @return El arco agregado, null si los nodos especificados no
+     * son validos o si el arco ya existia
+     */
+    public Arc addArc(int src, int dst, double costo) {
+	Arc arco = this.addArc(src,dst);
+	if (arco!=null) {
+	    arco.setCost(costo);
+	}
+	return arco;
+    }
+
+    /**
+     * Agrega a este DiGraph los m primeros arcos (src[i],dst[i]) en O(m),
+     * encendiendo directamente sus bits. Los arcos repetidos, los que ya
+     * existen y los que tienen nodos fuera de rango se ignoran.
+     *
+     * @param src nodos fuente de los arcos
+     * @param dst nodos destino de los arcos
+     * @param m numero de arcos a tomar de src y dst
+     * @return numero de arcos agregados
+     */
+    @Override
+    public int addArcs(int src[], int dst[], int m) {
+	int agregados = 0;
+	for (int e=0; e<m; e++) {
+	    if (this.marcar(src[e], dst[e])) {
+		agregados++;
+	    }
+	}
+	return agregados;
+    }
+
+    /**
+     * Enciende el bit (src,dst) si los nodos son validos y el arco no
+     * existia, actualizando el numero de arcos.
+     *
+     * @return true si el arco fue agregado
+     */
+    private boolean marcar(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return false;
+
+	long palabra = filas.get(src, dst>>>6);
+	if ((palabra & (1L << dst)) != 0)
+	    return false;
+
+	filas.put(src, dst>>>6, palabra | (1L << dst));
+	numArcs++;
+	return true;
+    }
+
+    /**
+     * Indica si un arco existe en este DiGraph
+     *
+     * @param src el id del nodo origen del arco
+     * @param dst el id del nodo destino del arco
+     * @return true si exite un arco desde el nodo src hasta el nodo dst.
+     * false en caso contrario
+     */
+    @Override
+    public boolean isArc(int src, int dst) {
+	if (src<0 || dst<0 || src>=numNodes || dst>=numNodes)
+	    return false;
+
+	return (filas.get(src, dst>>>6) & (1L << dst)) != 0;
+    }
+
+    /**
+     * Retorna el Arco cuyo nodo fuente es nodoSrc y nodo destino es nodoDst.
+     *
+     * @param nodoSrc nodo fuente
+     * @param nodoDst nodo destino
+     *
+     * @return el arco (nodoSrc,nodoDst). Devuelve null si el arco no
+     * pertenece al grafo.
+     */
+    public Arc getArc(int nodoSrc, int nodoDst) {
+	if (this.isArc(nodoSrc,nodoDst)) {
+	    return new Arc(nodoSrc,nodoDst);
+	}
+	return null;
+    }
+
+    /**
+     * Remueve un arco de este DiGraph
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     *
+     * @return arco eliminado, null en caso de que el arco no exista o
+     * los nodos no pertenezcan al grafo
+     */
+    public Arc delArc(int nodeIniId, int nodeFinId) {
+	if (!this.removeArc(nodeIniId,nodeFinId))
+	    return null;
+
+	return new Arc(nodeIniId,nodeFinId);
+    }
+
+    /**
+     * Remueve un arco de este DiGraph sin crear un objeto Arc
+     *
+     * @param nodeIniId nodo fuente del arco a eliminar
+     * @param nodeFinId nodo destino del arco a eliminar
+     * @return true si el arco fue eliminado, false si no existia o los
+     * nodos no son validos
+     */
+    @Override
+    public boolean removeArc(int nodeIniId, int nodeFinId) {
+	if (!this.isArc(nodeIniId,nodeFinId))
+	    return false;
+
+	int w = nodeFinId>>>6;
+	filas.put(nodeIniId, w, filas.get(nodeIniId, w) & ~(1L << nodeFinId));
+	numArcs--;
+	return true;
+    }
+
+    /**
+     * remueve todos los arcos de este grafo
+     *
+     * @return lista de arcos eliminados
+     */
+    public List<Arc> removeAllArcs() {
+	List<Arc> lista = new ListaArreglo<Arc>();
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		long bits = filas.get(i, w);
+		while (bits != 0) {
+		    lista.add(new Arc(i, (w<<6) + Long.numberOfTrailingZeros(bits)));
+		    bits &= bits-1;
+		}
+		filas.put(i, w, 0);
+	    }
+	}
+	numArcs = 0;
+	return lista;
+    }
+
+    /**
+     * Invierte la direccion de un arco si existe
+     * @param nodeIniId nodo fuente del arco antes de invertirlo
+     * @param nodeFinId nodo destino del arco antes de invertirlo
+     * @return true si el arco fue invertido, false en caso contrario
+     */
+    public boolean reverseArc(int nodeIniId, int nodeFinId) {
+	if (!this.removeArc(nodeIniId,nodeFinId))
+	    return false;
+
+	this.marcar(nodeFinId,nodeIniId);
+	return true;
+    }
+
+    /**
+     * Invierte todos los arcos del DiGraph, trasponiendo la matriz en una
+     * matriz auxiliar fuera del heap y copiandola de vuelta.
+     *
+     * @return Esta operación siempre es exitosa y devuelve true.
+     */
+    public boolean reverseArcs() {
+	Filas traspuesta = new Filas(numNodes, palabras(numNodes));
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		long bits = filas.get(i, w);
+		while (bits != 0) {
+		    int j = (w<<6) + Long.numberOfTrailingZeros(bits);
+		    traspuesta.put(j, i>>>6, traspuesta.get(j, i>>>6) | (1L << i));
+		    bits &= bits-1;
+		}
+	    }
+	}
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		filas.put(i, w, traspuesta.get(i, w));
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna la lista de predecesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     *
+     * @return lista de predecesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getPredecesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas.get(i, w) & mascara) != 0) {
+		lista.add(i);
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de sucesores del nodo nodeId
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     *
+     * @return lista de sucesores de nodeId en orden creciente. Si
+     * nodeId no es un nodo del grafo devuelve null.
+     */
+    public List<Integer> getSucesors(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	ListaArreglo<Integer> lista = new ListaArreglo<Integer>();
+	for (int w=0; w<filas.palabrasFila; w++) {
+	    long bits = filas.get(nodeId, w);
+	    while (bits != 0) {
+		lista.add((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Copia los predecesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param destino arreglo con espacio para getInDegree(nodeId) elementos
+     *
+     * @return numero de predecesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getPredecesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	int k = 0;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas.get(i, w) & mascara) != 0) {
+		destino[k++] = i;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Copia los sucesores del nodo nodeId en el arreglo destino, en
+     * orden creciente.
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param destino arreglo con espacio para getOutDegree(nodeId) elementos
+     *
+     * @return numero de sucesores copiados, -1 si nodeId no es un nodo
+     * del grafo
+     */
+    @Override
+    public int getSucesors(int nodeId, int[] destino) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int k = 0;
+	for (int w=0; w<filas.palabrasFila; w++) {
+	    long bits = filas.get(nodeId, w);
+	    while (bits != 0) {
+		destino[k++] = (w<<6) + Long.numberOfTrailingZeros(bits);
+		bits &= bits-1;
+	    }
+	}
+	return k;
+    }
+
+    /**
+     * Visita los predecesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los predecesores
+     * @param visitante objeto que procesa cada predecesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachPredecessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas.get(i, w) & mascara) != 0) {
+		visitante.visitar(i);
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Visita los sucesores del nodo nodeId en orden creciente
+     *
+     * @param nodeId el id del nodo del que se quieren los sucesores
+     * @param visitante objeto que procesa cada sucesor
+     *
+     * @return false si nodeId no es un nodo del grafo
+     */
+    @Override
+    public boolean forEachSuccessor(int nodeId, VisitanteNodos visitante) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return false;
+
+	for (int w=0; w<filas.palabrasFila; w++) {
+	    long bits = filas.get(nodeId, w);
+	    while (bits != 0) {
+		visitante.visitar((w<<6) + Long.numberOfTrailingZeros(bits));
+		bits &= bits-1;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como fuente
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como fuente
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getOutEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	for (int w=0; w<filas.palabrasFila; w++) {
+	    long bits = filas.get(nodeId, w);
+	    while (bits != 0) {
+		lista.add(new Arc(nodeId, (w<<6) + Long.numberOfTrailingZeros(bits)));
+		bits &= bits-1;
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna la lista de arcos que tienen a nodeId como destino
+     * @param nodeId identificador del nodo
+     *
+     * @return la lista de arcos que tienen a nodeId como destino
+     * Si el nodeId no pertenece al grafo devuelve null.
+     */
+    public List<Arc> getInEdges(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return null;
+
+	List<Arc> lista = new ListaArreglo<Arc>();
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas.get(i, w) & mascara) != 0) {
+		lista.add(new Arc(i,nodeId));
+	    }
+	}
+	return lista;
+    }
+
+    /**
+     * Retorna el grado de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	return this.getOutDegree(nodeId) + this.getInDegree(nodeId);
+    }
+
+    /**
+     * Retorna el grado externo de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado externo del nodo nodeId en este Grafo, -1 si el nodo no
+     * se encuentra en el grafo
+     */
+    public int getOutDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int gradoEx = 0;
+	for (int w=0; w<filas.palabrasFila; w++) {
+	    gradoEx += Long.bitCount(filas.get(nodeId, w));
+	}
+	return gradoEx;
+    }
+
+    /**
+     * Retorna el grado interno de un nodo en este DiGraph.
+     *
+     * @param nodeId identificacion del nodo
+     * @return el grado interno del nodo nodeId en este Grafo, -1 si el nodo no se
+     * encuentra en el grafo
+     */
+    public int getInDegree(int nodeId) {
+	if (nodeId<0 || nodeId>=numNodes)
+	    return -1;
+
+	int gradoIn = 0;
+	int w = nodeId>>>6;
+	long mascara = 1L << nodeId;
+	for (int i=0; i<numNodes; i++) {
+	    if ((filas.get(i, w) & mascara) != 0) {
+		gradoIn++;
+	    }
+	}
+	return gradoIn;
+    }
+
+    /**
+     * Retorna el numero de nodos en el grafo
+     *
+     * @return numero de nodos en el grafo
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+    /**
+     * Retorna el numero de arcos en el grafo
+     *
+     * @return numero de arcos en el grafo
+     */
+    public int getNumberOfArcs() {
+	return numArcs;
+    }
+
+    /**
+     * Carga en este DiGraph, el grafo contenido en el archivo
+     * Borra el grafo anterior y le asigna la informacion del grafo
+     * contenido en el archivo fileName. Si el grafo estaba respaldado por
+     * un archivo, este se cierra y el grafo pasa a memoria anonima.
+     * El número de nodos debe ser mayor a 0, y el número de arcos
+     * reportados por el archivo deben coincidir con el número de arcos
+     * en el archivo.
+     * @param fileName nombre del archivo que contiene la representacion del
+     * grafo a cargar
+     *
+     * @throws java.io.IOException, FileNotFoundException, NumberFormatException
+     */
+    public void read(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	LectorArcos lector = new LectorArcos(fileName);
+	int arcos[][] = lector.leerArcos();
+
+	this.close();
+	this.numNodes = lector.getNumberOfNodes();
+	this.numArcs = 0;
+	this.filas = new Filas(numNodes, palabras(numNodes));
+	this.addArcs(arcos[0], arcos[1], arcos[0].length);
+    }
+
+    /**
+     * Escribe este DiGraph en un archivo en el formato establecido en el enunciado
+     *
+     * @param fileName nombre del archivo donde se escribira la representacion
+     * del grafo
+     *
+     * @throws java.io.IOException
+     */
+    public void write(String fileName) throws IOException {
+	PrintStream out = new PrintStream(fileName);
+	out.print(numNodes + " " + numArcs + "\n");
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		long bits = filas.get(i, w);
+		while (bits != 0) {
+		    out.print(i + " " + ((w<<6) + Long.numberOfTrailingZeros(bits)) + "\n");
+		    bits &= bits-1;
+		}
+	    }
+	}
+	out.close();
+    }
+
+    /**
+     * Determina si el DiGraph g es igual a este DiGraph
+     *
+     * @param g el grafo con el que se quiere comparar
+     * @return true si los dos DiGraph contienen los mismos nodos y los mismos
+     * arcos
+     */
+    public boolean equals(DiGraph g) {
+	if (g==null || this.numNodes!=g.getNumberOfNodes()
+		|| this.numArcs!=g.getNumberOfArcs()) {
+	    return false;
+	}
+	for (int i=0; i<numNodes; i++) {
+	    for (int k=0; k<numNodes; k++) {
+		if (this.isArc(i,k) != g.isArc(i,k)) {
+		    return false;
+		}
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Retorna un Digraph que es la clausura transitiva de este DiGraph
+     * calculada usando el algoritmo Roy-Warshal, 64 columnas por
+     * operacion. La clausura tambien vive fuera del heap, en memoria
+     * anonima; solo la fila k se copia al heap en cada paso.
+     *
+     * Este metodo no altera este grafo <i>this</i>
+     *
+     * @return un DiGraphOffHeap que es la clausura transitiva de este
+     * DiGraph
+     */
+    public DiGraph royWarshall() {
+	DiGraphOffHeap g = this.clone();
+	Filas f = g.filas;
+	int p = f.palabrasFila;
+
+	// M:= M + I
+	for (int i=0; i<numNodes; i++) {
+	    f.put(i, i>>>6, f.get(i, i>>>6) | (1L << i));
+	}
+
+	long filaK[] = new long[p];
+	for (int k=0; k<numNodes; k++) {
+	    f.leer(k, filaK);
+	    int w = k>>>6;
+	    long mascara = 1L << k;
+	    for (int i=0; i<numNodes; i++) {
+		if (i!=k && (f.get(i, w) & mascara) != 0) {
+		    for (int j=0; j<p; j++) {
+			f.put(i, j, f.get(i, j) | filaK[j]);
+		    }
+		}
+	    }
+	}
+
+	g.numArcs = g.contarArcos();
+	return g;
+    }
+
+    /**
+     * Cuenta los bits encendidos de la matriz
+     */
+    private int contarArcos() {
+	int total = 0;
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		total += Long.bitCount(filas.get(i, w));
+	    }
+	}
+	return total;
+    }
+
+    /**
+     * Retorna la representacion en String de este DiGraph.
+     * @return la representacion en String de este DiGraph.
+     */
+    @Override
+    public String toString() {
+	StringBuilder salida = new StringBuilder();
+	salida.append(this.numNodes).append(' ').append(this.numArcs);
+	for (int i=0; i<numNodes; i++) {
+	    for (int w=0; w<filas.palabrasFila; w++) {
+		long bits = filas.get(i, w);
+		while (bits != 0) {
+		    salida.append('\n').append(i).append(' ')
+			  .append((w<<6) + Long.numberOfTrailingZeros(bits));
+		    bits &= bits-1;
+		}
+	    }
+	}
+	return salida.toString();
+    }
+
+}
@@ -0,0 +1,158 @@
+import java.nio.ByteBuffer;
+
+/**
+ * DiccionarioNombres asocia nombres, guardados como bytes, con ids
+ * consecutivos en el orden en que se agregan. Es una tabla hash de
+ * direccionamiento abierto con sondeo lineal: agregar y buscar cuestan
+ * O(1) esperado, y se puede buscar directamente un rango de bytes de un
+ * ByteBuffer sin crear un String.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class DiccionarioNombres {
+
+    // claves[id] son los bytes del nombre con ese id, y hashes[id] su hash
+    private byte claves[][];
+    private int hashes[];
+    private int tam = 0;
+    // tabla[p] es id+1 del nombre en la ranura p, 0 si esta vacia. Su
+    // tamaño es una potencia de 2 y se mantiene a lo sumo medio llena
+    private int tabla[];
+
+    /**
+     * Crea un diccionario vacio con espacio para <i>capacidad</i> nombres
+     * antes de tener que crecer.
+     *
+     * @param capacidad numero de nombres esperado
+     */
+    public DiccionarioNombres(int capacidad) {
+	if (capacidad < 1) {
+	    capacidad = 1;
+	}
+	claves = new byte[capacidad][];
+	hashes = new int[capacidad];
+	int ranuras = Integer.highestOneBit(capacidad) << 2;
+	tabla = new int[ranuras];
+    }
+
+    /**
+     * Retorna el numero de nombres en el diccionario
+     *
+     * @return el numero de nombres en el diccionario
+     */
+    public int size() {
+	return tam;
+    }
+
+    /**
+     * Agrega un nombre al diccionario si no estaba.
+     *
+     * @param nombre bytes del nombre. El diccionario se queda con el
+     * arreglo, que no debe modificarse despues.
+     * @return el id del nombre: el nuevo id si no estaba, o el id que ya
+     * tenia
+     */
+    public int agregar(byte nombre[]) {
+	int h = hash(ByteBuffer.wrap(nombre), 0, nombre.length);
+	int p = this.ranura(ByteBuffer.wrap(nombre), 0, nombre.length, h);
+	if (tabla[p]!=0) {
+	    return tabla[p]-1;
+	}
+	if (tam==claves.length) {
+	    claves = java.util.Arrays.copyOf(claves, 2*tam);
+	    hashes = java.util.Arrays.copyOf(hashes, 2*tam);
+	}
+	claves[tam] = nombre;
+	hashes[tam] = h;
+	tabla[p] = ++tam;
+	if (2*tam > tabla.length) {
+	    this.crecer();
+	}
+	return tam-1;
+    }
+
+    /**
+     * Busca el nombre cuyos bytes son los de buffer en [ini, fin).
+     *
+     * @param buffer bytes donde esta el nombre
+     * @param ini posicion del primer byte del nombre
+     * @param fin posicion siguiente al ultimo byte del nombre
+     * @return el id del nombre, -1 si no esta en el diccionario
+     */
+    public int buscar(ByteBuffer buffer, int ini, int fin) {
+	int p = this.ranura(buffer, ini, fin, hash(buffer, ini, fin));
+	return tabla[p]-1;
+    }
+
+    /**
+     * Busca un nombre en el diccionario.
+     *
+     * @param nombre bytes del nombre
+     * @return el id del nombre, -1 si no esta en el diccionario
+     */
+    public int buscar(byte nombre[]) {
+	return this.buscar(ByteBuffer.wrap(nombre), 0, nombre.length);
+    }
+
+    /**
+     * Hash FNV-1a de los bytes [ini, fin) de buffer
+     */
+    private static int hash(ByteBuffer buffer, int ini, int fin) {
+	int h = 0x811c9dc5;
+	for (int i=ini; i<fin; i++) {
+	    h = (h ^ (buffer.get(i) & 0xff)) * 0x01000193;
+	}
+	return h ^ (h >>> 16);
+    }
+
+    /**
+     * Retorna la ranura donde esta el nombre [ini, fin) de buffer, o la
+     * ranura vacia donde deberia ir.
+     */
+    private int ranura(ByteBuffer buffer, int ini, int fin, int h) {
+	int mascara = tabla.length-1;
+	int p = h & mascara;
+	while (tabla[p]!=0) {
+	    int id = tabla[p]-1;
+	    if (hashes[id]==h && iguales(buffer, ini, fin, claves[id])) {
+		return p;
+	    }
+	    p = (p+1) & mascara;
+	}
+	return p;
+    }
+
+    /**
+     * Compara los bytes [ini, fin) de buffer con la clave
+     */
+    private static boolean iguales(ByteBuffer buffer, int ini, int fin, byte clave[]) {
+	if (fin-ini != clave.length) {
+	    return false;
+	}
+	for (int i=0; i<clave.length; i++) {
+	    if (buffer.get(ini+i)!=clave[i]) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Duplica el tamaño de la tabla y reubica los ids
+     */
+    private void crecer() {
+	tabla = new int[2*tabla.length];
+	int mascara = tabla.length-1;
+	for (int id=0; id<tam; id++) {
+	    int p = hashes[id] & mascara;
+	    while (tabla[p]!=0) {
+		p = (p+1) & mascara;
+	    }
+	    tabla[p] = id+1;
+	}
+    }
+
+}
@@ -0,0 +1,131 @@
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * EscritorSalida escribe el archivo de salida de Main (.output): una linea
+ * por curso con su nombre, el numero de prerequisitos inmediatos y sus
+ * nombres. Los nombres se codifican a bytes una sola vez y las lineas
+ * se arman en un buffer reutilizable que se vacia al archivo en bloques
+ * grandes, sin crear Strings por linea.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class EscritorSalida {
+
+    // tamaño del buffer de salida
+    private static final int TAM_BUFFER = 1 << 20;
+
+    private final FileOutputStream archivo;
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAM_BUFFER);
+    // nombres[i] son los bytes del nombre del curso i
+    private final byte nombres[][];
+
+    /**
+     * Crea el archivo fileName, o lo vacia si existe, para escribir los
+     * resultados de los cursos dados.
+     *
+     * @param fileName nombre del archivo de salida
+     * @param nombresCursos nombres de los cursos, indexados por id
+     * @throws IOException si el archivo no se puede crear
+     */
+    public EscritorSalida(String fileName, String nombresCursos[]) throws IOException {
+	Charset charset = Charset.defaultCharset();
+	nombres = new byte[nombresCursos.length][];
+	for (int i=0; i<nombres.length; i++) {
+	    nombres[i] = nombresCursos[i].getBytes(charset);
+	}
+	archivo = new FileOutputStream(fileName);
+	canal = archivo.getChannel();
+    }
+
+    /**
+     * Escribe la linea de un curso: su nombre, tam, y los nombres de
+     * predecesores[0..tam-1] en ese orden, separados por espacios.
+     *
+     * @param curso id del curso
+     * @param predecesores ids de los prerequisitos inmediatos del curso
+     * @param tam numero de prerequisitos
+     * @throws IOException si hubo un error al escribir
+     */
+    public void escribirCurso(int curso, int predecesores[], int tam) throws IOException {
+	this.poner(nombres[curso]);
+	this.poner((byte) ' ');
+	this.ponerNumero(tam);
+	for (int j=0; j<tam; j++) {
+	    this.poner((byte) ' ');
+	    this.poner(nombres[predecesores[j]]);
+	}
+	this.poner((byte) '\n');
+    }
+
+    /**
+     * Escribe lo que quede en el buffer y cierra el archivo. El archivo se
+     * cierra aunque la escritura falle, asi que debe llamarse en un bloque
+     * finally despues de crear el EscritorSalida.
+     *
+     * @throws IOException si hubo un error al escribir
+     */
+    public void close() throws IOException {
+	try {
+	    this.vaciar();
+	} finally {
+	    archivo.close();
+	}
+    }
+
+    /**
+     * Escribe el contenido del buffer en el archivo y lo deja vacio
+     */
+    private void vaciar() throws IOException {
+	buffer.flip();
+	while (buffer.hasRemaining()) {
+	    canal.write(buffer);
+	}
+	buffer.clear();
+    }
+
+    private void poner(byte b) throws IOException {
+	if (!buffer.hasRemaining()) {
+	    this.vaciar();
+	}
+	buffer.put(b);
+    }
+
+    private void poner(byte bytes[]) throws IOException {
+	if (bytes.length > buffer.remaining()) {
+	    this.vaciar();
+	    if (bytes.length > buffer.capacity()) {
+		ByteBuffer grande = ByteBuffer.wrap(bytes);
+		while (grande.hasRemaining()) {
+		    canal.write(grande);
+		}
+		return;
+	    }
+	}
+	buffer.put(bytes);
+    }
+
+    /**
+     * Escribe un entero no negativo en decimal
+     */
+    private void ponerNumero(int valor) throws IOException {
+	if (buffer.remaining() < 10) {
+	    this.vaciar();
+	}
+	int divisor = 1;
+	while (valor/divisor >= 10) {
+	    divisor *= 10;
+	}
+	for (; divisor>0; divisor/=10) {
+	    buffer.put((byte) ('0' + (valor/divisor) % 10));
+	}
+    }
+
+}
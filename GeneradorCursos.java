@@ -0,0 +1,427 @@
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Programa que genera archivos de entrada para Main (.input) de tamaño
+ * arbitrario, junto con la salida esperada (.output) calculada de forma
+ * independiente de Main. Tiene tres modos:
+ * <ul>
+ * <li>capas: los cursos se reparten en capas y cada curso tiene como
+ * prerequisitos cursos de la capa anterior; con probabilidad -atajos
+ * tiene ademas uno de dos capas antes, que puede ser transitivo.</li>
+ * <li>aleatorio: cada curso tiene prerequisitos elegidos entre todos los
+ * cursos anteriores.</li>
+ * <li>ciclico: como aleatorio, pero con probabilidad -ciclos cada curso
+ * tiene tambien un prerequisito posterior, lo que forma ciclos. La salida
+ * esperada sigue la regla de Main para los correquisitos: se conservan
+ * los prerequisitos de la misma componente fuertemente conexa, y entre
+ * componentes distintas solo los que no se alcanzan a traves de otra
+ * componente.</li>
+ * </ul>
+ * Los nombres son C seguido del id con ceros a la izquierda, de modo que
+ * el orden alfabetico coincide con el de los ids; en el archivo de
+ * entrada aparecen en orden aleatorio.
+ *
+ * Sintaxis: java GeneradorCursos [-modo capas|aleatorio|ciclico] [-n 1000]
+ *           [-capas 10] [-fanin 4] [-densidad 0.8] [-atajos 0.1]
+ *           [-ciclos 0.01] [-semilla 1] &lt;nombre_base&gt;
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class GeneradorCursos {
+
+    // limite de cursos para calcular la salida esperada en modo aleatorio,
+    // que usa un conjunto de bits de ancestros por curso
+    private static final int MAX_REFERENCIA_ALEATORIO = 40000;
+    // limite de cursos para calcular la salida esperada en modo ciclico,
+    // que usa dos conjuntos de bits por curso
+    private static final int MAX_REFERENCIA_CICLICO = 20000;
+
+    private String modo = "capas";
+    private int n = 1000;
+    private int capas = 10;
+    private int fanin = 4;
+    private double densidad = 0.8;
+    private double atajos = 0.1;
+    private double ciclos = 0.01;
+    private long semilla = 1;
+
+    // prerequisitos[v] son los prerequisitos del curso v, sin repetidos
+    private int prerequisitos[][];
+    // capa[v] es la capa del curso v en modo capas
+    private int capa[];
+
+    public static void main(String[] args) {
+	GeneradorCursos g = new GeneradorCursos();
+	String base = null;
+	try {
+	    for (int i=0; i<args.length; i++) {
+		if (args[i].equals("-modo")) {
+		    g.modo = args[++i];
+		} else if (args[i].equals("-n")) {
+		    g.n = Integer.parseInt(args[++i]);
+		} else if (args[i].equals("-capas")) {
+		    g.capas = Integer.parseInt(args[++i]);
+		} else if (args[i].equals("-fanin")) {
+		    g.fanin = Integer.parseInt(args[++i]);
+		} else if (args[i].equals("-densidad")) {
+		    g.densidad = Double.parseDouble(args[++i]);
+		} else if (args[i].equals("-atajos")) {
+		    g.atajos = Double.parseDouble(args[++i]);
+		} else if (args[i].equals("-ciclos")) {
+		    g.ciclos = Double.parseDouble(args[++i]);
+		} else if (args[i].equals("-semilla")) {
+		    g.semilla = Long.parseLong(args[++i]);
+		} else {
+		    base = args[i];
+		}
+	    }
+	} catch (RuntimeException e) {
+	    base = null;
+	}
+	if (base==null || g.n<1 || g.capas<1 || g.fanin<0
+	    || !(g.modo.equals("capas") || g.modo.equals("aleatorio")
+		 || g.modo.equals("ciclico"))) {
+	    System.err.println("Sintaxis: java GeneradorCursos [-modo capas|aleatorio|ciclico]"
+			       + " [-n 1000] [-capas 10] [-fanin 4] [-densidad 0.8]"
+			       + " [-atajos 0.1] [-ciclos 0.01] [-semilla 1] <nombre_base>");
+	    return;
+	}
+
+	try {
+	    g.generar();
+	    g.escribirEntrada(base + ".input");
+	    if (g.modo.equals("aleatorio") && g.n > MAX_REFERENCIA_ALEATORIO) {
+		System.err.println("Demasiados cursos para calcular " + base
+				   + ".output en modo aleatorio");
+	    } else if (g.modo.equals("ciclico") && g.n > MAX_REFERENCIA_CICLICO) {
+		System.err.println("Demasiados cursos para calcular " + base
+				   + ".output en modo ciclico");
+	    } else {
+		g.escribirReferencia(base + ".output");
+	    }
+	} catch (IOException ioe) {
+	    System.err.println("No se puede escribir el archivo");
+	}
+    }
+
+    /**
+     * Genera los prerequisitos de cada curso segun el modo
+     */
+    private void generar() {
+	Random azar = new Random(semilla);
+	prerequisitos = new int[n][];
+	int elegidos[] = new int[fanin+2];
+
+	if (modo.equals("capas")) {
+	    capa = new int[n];
+	    int numCapas = Math.min(capas, n);
+	    for (int v=0; v<n; v++) {
+		capa[v] = (int) ((long) v * numCapas / n);
+	    }
+	}
+
+	for (int v=0; v<n; v++) {
+	    int k = 0;
+	    if (modo.equals("capas")) {
+		if (capa[v]>0 && azar.nextDouble() < densidad) {
+		    int ini = inicioCapa(capa[v]-1);
+		    int fin = inicioCapa(capa[v]);
+		    k = elegir(azar, ini, fin, 1+azar.nextInt(Math.max(1, fanin)), elegidos, 0);
+		}
+		if (capa[v]>1 && azar.nextDouble() < atajos) {
+		    k = elegir(azar, inicioCapa(capa[v]-2), inicioCapa(capa[v]-1), 1, elegidos, k);
+		}
+	    } else {
+		if (v>0 && azar.nextDouble() < densidad) {
+		    k = elegir(azar, 0, v, 1+azar.nextInt(Math.max(1, fanin)), elegidos, 0);
+		}
+		if (modo.equals("ciclico") && v<n-1 && azar.nextDouble() < ciclos) {
+		    k = elegir(azar, v+1, n, 1, elegidos, k);
+		}
+	    }
+	    prerequisitos[v] = java.util.Arrays.copyOf(elegidos, k);
+	}
+    }
+
+    /**
+     * Primer curso de la capa c
+     */
+    private int inicioCapa(int c) {
+	int numCapas = Math.min(capas, n);
+	// el menor v tal que v*numCapas/n >= c
+	return (int) (((long) c * n + numCapas - 1) / numCapas);
+    }
+
+    /**
+     * Agrega a elegidos[k..] hasta cuantos cursos distintos del rango
+     * [ini, fin) que no esten ya en elegidos[0..k-1].
+     *
+     * @return el nuevo numero de elegidos
+     */
+    private static int elegir(Random azar, int ini, int fin, int cuantos,
+			      int elegidos[], int k) {
+	cuantos = Math.min(cuantos, fin-ini);
+	int intentos = 0;
+	int meta = k + cuantos;
+	while (k<meta && intentos < 4*cuantos+8) {
+	    int u = ini + azar.nextInt(fin-ini);
+	    boolean repetido = false;
+	    for (int j=0; j<k && !repetido; j++) {
+		repetido = elegidos[j]==u;
+	    }
+	    if (!repetido) {
+		elegidos[k++] = u;
+	    }
+	    intentos++;
+	}
+	return k;
+    }
+
+    /**
+     * Nombre del curso v: C seguido del id con ceros a la izquierda
+     */
+    private String nombre(int v) {
+	String id = Integer.toString(v);
+	int ancho = Integer.toString(n-1).length();
+	StringBuilder s = new StringBuilder("C");
+	for (int i=id.length(); i<ancho; i++) {
+	    s.append('0');
+	}
+	return s.append(id).toString();
+    }
+
+    /**
+     * Escribe el archivo de entrada de Main, con los nombres en orden
+     * aleatorio
+     */
+    private void escribirEntrada(String fileName) throws IOException {
+	PrintStream out = new PrintStream(new BufferedOutputStream(
+					  new FileOutputStream(fileName), 1 << 16));
+	Random azar = new Random(semilla+1);
+	int permutacion[] = new int[n];
+	for (int i=0; i<n; i++) {
+	    int j = azar.nextInt(i+1);
+	    permutacion[i] = permutacion[j];
+	    permutacion[j] = i;
+	}
+
+	out.print(n + "\n");
+	for (int i=0; i<n; i++) {
+	    out.print(nombre(permutacion[i]) + "\n");
+	}
+	int lineas = 0;
+	for (int v=0; v<n; v++) {
+	    if (prerequisitos[v].length > 0) {
+		lineas++;
+	    }
+	}
+	out.print(lineas + "\n");
+	StringBuilder linea = new StringBuilder();
+	for (int v=0; v<n; v++) {
+	    int pre[] = prerequisitos[v];
+	    if (pre.length > 0) {
+		linea.setLength(0);
+		linea.append(nombre(v)).append(' ').append(pre.length);
+		for (int j=0; j<pre.length; j++) {
+		    linea.append(' ').append(nombre(pre[j]));
+		}
+		out.print(linea.append('\n'));
+	    }
+	}
+	out.close();
+	if (out.checkError()) {
+	    throw new IOException("Error al escribir " + fileName);
+	}
+    }
+
+    /**
+     * Escribe la salida esperada de Main: para cada curso, sus
+     * prerequisitos que no se alcanzan a traves de otro prerequisito
+     */
+    private void escribirReferencia(String fileName) throws IOException {
+	boolean inmediato[][];
+	if (modo.equals("capas")) {
+	    inmediato = this.referenciaCapas();
+	} else if (modo.equals("aleatorio")) {
+	    inmediato = this.referenciaAleatorio();
+	} else {
+	    inmediato = this.referenciaCiclico();
+	}
+	String nombres[] = new String[n];
+	for (int v=0; v<n; v++) {
+	    nombres[v] = nombre(v);
+	}
+	EscritorSalida out = new EscritorSalida(fileName, nombres);
+	int pre[] = new int[fanin+2];
+	for (int v=0; v<n; v++) {
+	    int k = 0;
+	    for (int j=0; j<prerequisitos[v].length; j++) {
+		if (inmediato[v][j]) {
+		    pre[k++] = prerequisitos[v][j];
+		}
+	    }
+	    java.util.Arrays.sort(pre, 0, k);
+	    out.escribirCurso(v, pre, k);
+	}
+	out.close();
+    }
+
+    /**
+     * En modo capas todo camino entre capas consecutivas es un arco, asi
+     * que solo un atajo (u,v) desde dos capas antes puede ser transitivo:
+     * lo es si u es prerequisito de algun prerequisito de v de la capa
+     * anterior.
+     */
+    private boolean[][] referenciaCapas() {
+	boolean inmediato[][] = new boolean[n][];
+	for (int v=0; v<n; v++) {
+	    int pre[] = prerequisitos[v];
+	    inmediato[v] = new boolean[pre.length];
+	    for (int j=0; j<pre.length; j++) {
+		int u = pre[j];
+		boolean transitivo = false;
+		if (capa[u]==capa[v]-2) {
+		    for (int i=0; i<pre.length && !transitivo; i++) {
+			int q = pre[i];
+			if (capa[q]==capa[v]-1) {
+			    for (int t=0; t<prerequisitos[q].length && !transitivo; t++) {
+				transitivo = prerequisitos[q][t]==u;
+			    }
+			}
+		    }
+		}
+		inmediato[v][j] = !transitivo;
+	    }
+	}
+	return inmediato;
+    }
+
+    /**
+     * En modo aleatorio los prerequisitos de v son anteriores a v, asi que
+     * los ancestros de cada curso se pueden calcular en orden de id. Un
+     * prerequisito u de v es transitivo si es ancestro de otro
+     * prerequisito de v.
+     */
+    private boolean[][] referenciaAleatorio() {
+	int palabras = (n+63) >>> 6;
+	long ancestros[][] = new long[n][];
+	boolean inmediato[][] = new boolean[n][];
+	for (int v=0; v<n; v++) {
+	    int pre[] = prerequisitos[v];
+	    long fila[] = new long[palabras];
+	    for (int j=0; j<pre.length; j++) {
+		int u = pre[j];
+		fila[u>>>6] |= 1L << u;
+		for (int p=0; p<palabras; p++) {
+		    fila[p] |= ancestros[u][p];
+		}
+	    }
+	    ancestros[v] = fila;
+	    inmediato[v] = new boolean[pre.length];
+	    for (int j=0; j<pre.length; j++) {
+		int u = pre[j];
+		boolean transitivo = false;
+		for (int i=0; i<pre.length && !transitivo; i++) {
+		    int q = pre[i];
+		    transitivo = q!=u && (ancestros[q][u>>>6] & (1L << u)) != 0;
+		}
+		inmediato[v][j] = !transitivo;
+	    }
+	}
+	return inmediato;
+    }
+
+    /**
+     * En modo ciclico se calculan los descendientes y los ancestros de
+     * cada curso con un recorrido desde cada uno, sin usar
+     * ComponentesFuertes ni ReduccionTransitiva. u y v estan en la misma
+     * componente si v alcanza a u ademas de u a v; esos prerequisitos se
+     * conservan. Un prerequisito u de v de otra componente es transitivo
+     * si algun curso x que no esta en la componente de u ni en la de v es
+     * descendiente de u y ancestro de v: entonces hay un camino de
+     * componentes de u a x y de x a v.
+     */
+    private boolean[][] referenciaCiclico() {
+	// sucesores[u] son los cursos que tienen a u como prerequisito
+	int grado[] = new int[n];
+	for (int v=0; v<n; v++) {
+	    for (int j=0; j<prerequisitos[v].length; j++) {
+		grado[prerequisitos[v][j]]++;
+	    }
+	}
+	int sucesores[][] = new int[n][];
+	for (int u=0; u<n; u++) {
+	    sucesores[u] = new int[grado[u]];
+	    grado[u] = 0;
+	}
+	for (int v=0; v<n; v++) {
+	    for (int j=0; j<prerequisitos[v].length; j++) {
+		int u = prerequisitos[v][j];
+		sucesores[u][grado[u]++] = v;
+	    }
+	}
+	long descendientes[][] = alcance(sucesores);
+	long ancestros[][] = alcance(prerequisitos);
+
+	int palabras = (n+63) >>> 6;
+	boolean inmediato[][] = new boolean[n][];
+	for (int v=0; v<n; v++) {
+	    int pre[] = prerequisitos[v];
+	    inmediato[v] = new boolean[pre.length];
+	    for (int j=0; j<pre.length; j++) {
+		int u = pre[j];
+		boolean transitivo = false;
+		if ((descendientes[v][u>>>6] & (1L << u)) == 0) {
+		    long descU[] = descendientes[u];
+		    long ancU[] = ancestros[u];
+		    long descV[] = descendientes[v];
+		    long ancV[] = ancestros[v];
+		    for (int p=0; p<palabras && !transitivo; p++) {
+			long entre = descU[p] & ancV[p]
+			    & ~(descU[p] & ancU[p]) & ~(descV[p] & ancV[p]);
+			transitivo = entre != 0;
+		    }
+		}
+		inmediato[v][j] = !transitivo;
+	    }
+	}
+	return inmediato;
+    }
+
+    /**
+     * Retorna para cada curso el conjunto de bits de los cursos que
+     * alcanza siguiendo adyacentes, incluido el mismo. El conjunto sirve
+     * de marca de visitados del recorrido.
+     */
+    private long[][] alcance(int adyacentes[][]) {
+	int palabras = (n+63) >>> 6;
+	long alcance[][] = new long[n][palabras];
+	int cola[] = new int[n];
+	for (int s=0; s<n; s++) {
+	    long fila[] = alcance[s];
+	    int ini = 0;
+	    int fin = 0;
+	    fila[s>>>6] |= 1L << s;
+	    cola[fin++] = s;
+	    while (ini < fin) {
+		int x = cola[ini++];
+		for (int j=0; j<adyacentes[x].length; j++) {
+		    int y = adyacentes[x][j];
+		    if ((fila[y>>>6] & (1L << y)) == 0) {
+			fila[y>>>6] |= 1L << y;
+			cola[fin++] = y;
+		    }
+		}
+	    }
+	}
+	return alcance;
+    }
+
+}
@@ -0,0 +1,398 @@
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * GrafoBinario lee y escribe DiGraphs en un formato binario compacto, para
+ * no volver a interpretar texto cada vez que se carga un grafo grande. El
+ * archivo se lee proyectado en memoria.
+ *
+ * El formato (enteros de encabezado en big endian) es:
+ * <pre>
+ * 0   'D' 'G' 'R' 'B'
+ * 4   version (1 byte)
+ * 5   banderas (1 byte): bit 0 clausura, bit 1 nombres
+ * 6   2 bytes en cero
+ * 8   numero de nodos (int)
+ * 12  numero de arcos (int)
+ * 16  numero de arcos de la clausura (int, 0 si no hay)
+ * 20  posicion de la clausura (long, 0 si no hay)
+ * 28  posicion de los nombres (long, 0 si no hay)
+ * 36  arcos
+ * </pre>
+ * Los arcos y la clausura se guardan por nodo fuente, en orden: el grado
+ * y luego los sucesores en orden creciente, el primero tal cual y los
+ * demas como diferencia con el anterior. Todos estos numeros son varints
+ * (7 bits por byte, el bit alto indica que sigue otro byte). Los nombres
+ * son, por nodo, la longitud en bytes como varint y el nombre en UTF-8.
+ * Un archivo truncado o con datos invalidos produce IOException.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class GrafoBinario {
+
+    public static final int VERSION = 1;
+
+    private static final byte MAGICO[] = {'D', 'G', 'R', 'B'};
+    private static final int CON_CLAUSURA = 1;
+    private static final int CON_NOMBRES = 2;
+    private static final int TAM_ENCABEZADO = 36;
+    // tamaño del buffer de escritura
+    private static final int TAM_BUFFER = 1 << 20;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final MappedByteBuffer datos;
+    private final int banderas;
+    private final int numNodes;
+    private final int numArcs;
+    private final int numArcosClausura;
+    private final long posClausura;
+    private final long posNombres;
+
+    /**
+     * Proyecta en memoria el archivo fileName y lee su encabezado.
+     *
+     * @param fileName nombre del archivo
+     * @throws FileNotFoundException si el archivo no existe
+     * @throws IOException si el archivo no tiene este formato, es de una
+     * version posterior o supera los 2GB
+     */
+    public GrafoBinario(String fileName) throws FileNotFoundException, IOException {
+	RandomAccessFile archivo = new RandomAccessFile(fileName, "r");
+	try {
+	    FileChannel canal = archivo.getChannel();
+	    long tam = canal.size();
+	    if (tam > Integer.MAX_VALUE) {
+		throw new IOException("Archivo demasiado grande: " + fileName);
+	    }
+	    this.datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tam);
+	} finally {
+	    archivo.close();
+	}
+
+	if (datos.limit() < TAM_ENCABEZADO) {
+	    throw new IOException("No es un grafo binario: " + fileName);
+	}
+	for (int i=0; i<MAGICO.length; i++) {
+	    if (datos.get(i) != MAGICO[i]) {
+		throw new IOException("No es un grafo binario: " + fileName);
+	    }
+	}
+	int version = datos.get(4);
+	if (version < 1 || version > VERSION) {
+	    throw new IOException("Version " + version + " no soportada: " + fileName);
+	}
+	this.banderas = datos.get(5);
+	this.numNodes = datos.getInt(8);
+	this.numArcs = datos.getInt(12);
+	this.numArcosClausura = datos.getInt(16);
+	this.posClausura = datos.getLong(20);
+	this.posNombres = datos.getLong(28);
+	if (numNodes < 0 || numArcs < 0 || numArcosClausura < 0
+		|| (tieneClausura() && (posClausura < TAM_ENCABEZADO || posClausura > datos.limit()))
+		|| (tieneNombres() && (posNombres < TAM_ENCABEZADO || posNombres > datos.limit()))) {
+	    throw new IOException("Encabezado invalido: " + fileName);
+	}
+	// Cada nodo ocupa al menos un byte (su grado) y cada arco al menos
+	// otro, asi que los conteos no pueden pasar de los bytes que quedan.
+	// Se revisa aqui para no reservar arreglos con conteos corruptos.
+	if ((long) numNodes + numArcs > datos.limit() - TAM_ENCABEZADO
+		|| (tieneClausura()
+		    && (long) numNodes + numArcosClausura > datos.limit() - posClausura)) {
+	    throw new IOException("Encabezado invalido: " + fileName);
+	}
+    }
+
+    /**
+     * Retorna el numero de nodos del grafo guardado
+     *
+     * @return numero de nodos
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+    /**
+     * Retorna el numero de arcos del grafo guardado
+     *
+     * @return numero de arcos
+     */
+    public int getNumberOfArcs() {
+	return numArcs;
+    }
+
+    /**
+     * Indica si el archivo incluye la clausura transitiva
+     *
+     * @return true si el archivo tiene clausura
+     */
+    public boolean tieneClausura() {
+	return (banderas & CON_CLAUSURA) != 0;
+    }
+
+    /**
+     * Indica si el archivo incluye los nombres de los nodos
+     *
+     * @return true si el archivo tiene nombres
+     */
+    public boolean tieneNombres() {
+	return (banderas & CON_NOMBRES) != 0;
+    }
+
+    /**
+     * Lee los arcos del grafo, ordenados por fuente y luego por destino.
+     *
+     * @return un arreglo {fuentes, destinos} con getNumberOfArcs()
+     * elementos cada uno
+     * @throws IOException si los arcos no coinciden con el encabezado
+     */
+    public int[][] leerArcos() throws IOException {
+	return this.leerAdyacencias(TAM_ENCABEZADO, numArcs);
+    }
+
+    /**
+     * Lee los arcos de la clausura, ordenados por fuente y luego por
+     * destino.
+     *
+     * @return un arreglo {fuentes, destinos}, null si el archivo no tiene
+     * clausura
+     * @throws IOException si los arcos no coinciden con el encabezado
+     */
+    public int[][] leerClausura() throws IOException {
+	if (!this.tieneClausura()) {
+	    return null;
+	}
+	return this.leerAdyacencias((int) posClausura, numArcosClausura);
+    }
+
+    /**
+     * Lee los nombres de los nodos.
+     *
+     * @return los nombres indexados por nodo, null si el archivo no tiene
+     * nombres
+     * @throws IOException si los nombres estan truncados
+     */
+    public String[] leerNombres() throws IOException {
+	if (!this.tieneNombres()) {
+	    return null;
+	}
+	ByteBuffer lector = datos.duplicate();
+	lector.position((int) posNombres);
+	if (numNodes > lector.remaining()) {
+	    throw new IOException("Nombres truncados");
+	}
+	String nombres[] = new String[numNodes];
+	for (int v=0; v<numNodes; v++) {
+	    int largo = leerVarint(lector);
+	    if (largo > lector.remaining()) {
+		throw new IOException("Nombre truncado del nodo " + v);
+	    }
+	    byte bytes[] = new byte[largo];
+	    lector.get(bytes);
+	    nombres[v] = new String(bytes, UTF8);
+	}
+	return nombres;
+    }
+
+    /**
+     * Decodifica m arcos a partir de la posicion dada. El constructor ya
+     * verifico que m mas el numero de nodos no pasa de los bytes que
+     * quedan desde posicion.
+     */
+    private int[][] leerAdyacencias(int posicion, int m) throws IOException {
+	ByteBuffer lector = datos.duplicate();
+	lector.position(posicion);
+	int src[] = new int[m];
+	int dst[] = new int[m];
+	int k = 0;
+	for (int v=0; v<numNodes; v++) {
+	    int grado = leerVarint(lector);
+	    if (grado > m-k) {
+		throw new IOException("Mas arcos de los indicados en el encabezado");
+	    }
+	    int w = 0;
+	    for (int i=0; i<grado; i++) {
+		int d = leerVarint(lector);
+		if (i > 0 && d <= 0) {
+		    throw new IOException("Sucesores desordenados del nodo " + v);
+		}
+		w = i==0 ? d : w + d;
+		if (w < 0 || w >= numNodes) {
+		    throw new IOException("Nodo invalido: " + w);
+		}
+		src[k] = v;
+		dst[k] = w;
+		k++;
+	    }
+	}
+	if (k != m) {
+	    throw new IOException("Menos arcos de los indicados en el encabezado");
+	}
+	return new int[][] {src, dst};
+    }
+
+    /**
+     * Lee un varint no negativo. Un int ocupa a lo sumo 5 bytes, y en el
+     * quinto solo caben sus 3 bits de valor mas altos.
+     *
+     * @throws IOException si el archivo termina antes del varint o este
+     * no cabe en un int no negativo
+     */
+    private static int leerVarint(ByteBuffer lector) throws IOException {
+	int valor = 0;
+	for (int desplazamiento=0; desplazamiento<35; desplazamiento+=7) {
+	    if (!lector.hasRemaining()) {
+		throw new IOException("Archivo truncado");
+	    }
+	    byte b = lector.get();
+	    if (desplazamiento == 28 && (b & 0xf8) != 0) {
+		throw new IOException("Varint fuera de rango");
+	    }
+	    valor |= (b & 0x7f) << desplazamiento;
+	    if (b >= 0) {
+		return valor;
+	    }
+	}
+	throw new IOException("Varint fuera de rango");
+    }
+
+    /**
+     * Precondicion: clausura, si no es null, tiene los mismos nodos que g;
+     * nombres, si no es null, tiene un nombre por nodo.
+     * Escribe g en fileName en formato binario, con su clausura y los
+     * nombres de sus nodos si se dan.
+     *
+     * @param fileName nombre del archivo a crear o reemplazar
+     * @param g el grafo
+     * @param clausura clausura de g a guardar, o null
+     * @param nombres nombres de los nodos a guardar, o null
+     * @throws IOException si hubo un error al escribir
+     */
+    public static void escribir(String fileName, DiGraph g, DiGraph clausura,
+				String nombres[]) throws IOException {
+	FileOutputStream archivo = new FileOutputStream(fileName);
+	try {
+	    Escritor salida = new Escritor(archivo.getChannel());
+	    int n = g.getNumberOfNodes();
+	    int buffer[] = new int[n];
+
+	    salida.poner(new byte[TAM_ENCABEZADO]);
+	    int arcos = salida.ponerAdyacencias(g, buffer);
+	    int arcosClausura = 0;
+	    long posClausura = 0;
+	    long posNombres = 0;
+	    if (clausura != null) {
+		posClausura = salida.posicion();
+		arcosClausura = salida.ponerAdyacencias(clausura, buffer);
+	    }
+	    if (nombres != null) {
+		posNombres = salida.posicion();
+		for (int v=0; v<n; v++) {
+		    byte bytes[] = nombres[v].getBytes(UTF8);
+		    salida.ponerVarint(bytes.length);
+		    salida.poner(bytes);
+		}
+	    }
+	    salida.vaciar();
+
+	    ByteBuffer encabezado = ByteBuffer.allocate(TAM_ENCABEZADO);
+	    encabezado.put(MAGICO);
+	    encabezado.put((byte) VERSION);
+	    encabezado.put((byte) ((clausura != null ? CON_CLAUSURA : 0)
+				   | (nombres != null ? CON_NOMBRES : 0)));
+	    encabezado.putShort((short) 0);
+	    encabezado.putInt(n);
+	    encabezado.putInt(arcos);
+	    encabezado.putInt(arcosClausura);
+	    encabezado.putLong(posClausura);
+	    encabezado.putLong(posNombres);
+	    encabezado.flip();
+	    FileChannel canal = archivo.getChannel();
+	    canal.position(0);
+	    while (encabezado.hasRemaining()) {
+		canal.write(encabezado);
+	    }
+	} finally {
+	    archivo.close();
+	}
+    }
+
+    /**
+     * Buffer de escritura que lleva la cuenta de los bytes escritos
+     */
+    private static class Escritor {
+	private final FileChannel canal;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAM_BUFFER);
+	private long escritos = 0;
+
+	Escritor(FileChannel canal) {
+	    this.canal = canal;
+	}
+
+	long posicion() {
+	    return escritos + buffer.position();
+	}
+
+	void vaciar() throws IOException {
+	    buffer.flip();
+	    escritos += buffer.remaining();
+	    while (buffer.hasRemaining()) {
+		canal.write(buffer);
+	    }
+	    buffer.clear();
+	}
+
+	void ponerVarint(int valor) throws IOException {
+	    if (buffer.remaining() < 5) {
+		this.vaciar();
+	    }
+	    while ((valor & ~0x7f) != 0) {
+		buffer.put((byte) ((valor & 0x7f) | 0x80));
+		valor >>>= 7;
+	    }
+	    buffer.put((byte) valor);
+	}
+
+	void poner(byte bytes[]) throws IOException {
+	    int i = 0;
+	    while (i < bytes.length) {
+		if (!buffer.hasRemaining()) {
+		    this.vaciar();
+		}
+		int k = Math.min(buffer.remaining(), bytes.length-i);
+		buffer.put(bytes, i, k);
+		i += k;
+	    }
+	}
+
+	/**
+	 * Escribe los sucesores ordenados de cada nodo de g
+	 *
+	 * @return numero de arcos escritos
+	 */
+	int ponerAdyacencias(DiGraph g, int buffer[]) throws IOException {
+	    int total = 0;
+	    for (int v=0; v<buffer.length; v++) {
+		int grado = g.getOutDegree(v);
+		int suc[] = grado <= buffer.length ? buffer : new int[grado];
+		int k = g.getSucesors(v, suc);
+		java.util.Arrays.sort(suc, 0, k);
+		this.ponerVarint(k);
+		for (int i=0; i<k; i++) {
+		    this.ponerVarint(i==0 ? suc[0] : suc[i]-suc[i-1]);
+		}
+		total += k;
+	    }
+	    return total;
+	}
+    }
+
+}
@@ -0,0 +1,245 @@
+import java.util.Random;
+
+/**
+ * IndiceAlcance responde si un nodo alcanza a otro en un DiGraph sin
+ * calcular la clausura transitiva, usando etiquetas de intervalos
+ * aleatorios (GRAIL).
+ *
+ * El indice se construye sobre el grafo de condensacion de las
+ * componentes fuertemente conexas. Para cada etiqueta se hace un
+ * recorrido en profundidad con un orden de hijos aleatorio; cada
+ * componente c recibe el intervalo [bajo, rango], donde rango es su
+ * posicion en postorden y bajo el menor rango de lo que alcanza. Si a
+ * alcanza a b, el intervalo de b esta contenido en el de a en todas las
+ * etiquetas, asi que basta un intervalo que no lo contenga para
+ * responder que no. Cuando todas las etiquetas contienen al de b se
+ * busca en profundidad, podando los hijos cuyas etiquetas no contienen
+ * a b.
+ *
+ * La construccion es lineal en nodos y arcos por etiqueta y el indice
+ * ocupa dos enteros por componente y etiqueta, mas la condensacion.
+ * Las consultas reutilizan arreglos internos, asi que un mismo indice no
+ * debe consultarse desde varios hilos a la vez.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class IndiceAlcance {
+
+    private final int numNodes;
+    private final int numEtiquetas;
+    // componente[v] es la componente del nodo v, en orden topologico
+    private final int componente[];
+    // sucesores de cada componente en formato CSR
+    private int inicio[];
+    private int destinos[];
+    // bajo[e][c] y rango[e][c] forman el intervalo de c en la etiqueta e
+    private final int bajo[][];
+    private final int rango[][];
+    // marcas de visita de la busqueda en profundidad; una componente esta
+    // visitada en la consulta actual si su marca es igual a consulta
+    private int marca[];
+    private int consulta;
+    private int pila[];
+
+    /**
+     * Construye el indice de g con tres etiquetas. El grafo g no se
+     * modifica.
+     *
+     * @param g el grafo
+     */
+    public IndiceAlcance(DiGraph g) {
+	this(g, 3, 1);
+    }
+
+    /**
+     * Precondicion: numEtiquetas>=1
+     * Construye el indice de g. Mas etiquetas podan mas busquedas a costa
+     * de memoria y tiempo de construccion. El grafo g no se modifica.
+     *
+     * @param g el grafo
+     * @param numEtiquetas numero de intervalos por componente
+     * @param semilla semilla para el orden aleatorio de los recorridos
+     */
+    public IndiceAlcance(DiGraph g, int numEtiquetas, long semilla) {
+	this.numNodes = g.getNumberOfNodes();
+	this.numEtiquetas = numEtiquetas;
+
+	ComponentesFuertes componentes = new ComponentesFuertes(g);
+	int c = componentes.getNumberOfComponents();
+	componente = new int[numNodes];
+	for (int v=0; v<numNodes; v++) {
+	    componente[v] = componentes.getComponent(v);
+	}
+	this.copiarSucesores(componentes.condensar());
+
+	bajo = new int[numEtiquetas][c];
+	rango = new int[numEtiquetas][c];
+	marca = new int[c];
+	pila = new int[c];
+	Random azar = new Random(semilla);
+	for (int e=0; e<numEtiquetas; e++) {
+	    this.etiquetar(bajo[e], rango[e], azar);
+	}
+    }
+
+    /**
+     * Copia los sucesores de la condensacion en arreglos propios
+     */
+    private void copiarSucesores(DiGraphCSR condensado) {
+	int c = condensado.getNumberOfNodes();
+	inicio = new int[c+1];
+	for (int a=0; a<c; a++) {
+	    inicio[a+1] = inicio[a] + condensado.getOutDegree(a);
+	}
+	destinos = new int[inicio[c]];
+	int suc[] = new int[c];
+	for (int a=0; a<c; a++) {
+	    int k = condensado.getSucesors(a, suc);
+	    System.arraycopy(suc, 0, destinos, inicio[a], k);
+	}
+    }
+
+    /**
+     * Asigna una etiqueta con un recorrido en profundidad iterativo. Las
+     * raices se toman en orden aleatorio y los hijos de cada componente
+     * se recorren empezando en una posicion aleatoria.
+     */
+    private void etiquetar(int bajoE[], int rangoE[], Random azar) {
+	int c = bajoE.length;
+	int raices[] = new int[c];
+	for (int a=0; a<c; a++) {
+	    raices[a] = a;
+	}
+	for (int a=c-1; a>0; a--) {
+	    int b = azar.nextInt(a+1);
+	    int aux = raices[a];
+	    raices[a] = raices[b];
+	    raices[b] = aux;
+	}
+
+	// desplazamiento[p] es el hijo inicial del nodo en la posicion p de
+	// la pila; visto[p] cuantos hijos ya se recorrieron
+	int desplazamiento[] = new int[c];
+	int visto[] = new int[c];
+	java.util.Arrays.fill(rangoE, -1);
+	int siguiente = 0;
+
+	for (int r=0; r<c; r++) {
+	    int s = raices[r];
+	    if (rangoE[s]!=-1) {
+		continue;
+	    }
+	    int tope = 0;
+	    this.apilar(s, tope++, bajoE, rangoE, desplazamiento, visto, azar);
+
+	    while (tope>0) {
+		int a = pila[tope-1];
+		int grado = inicio[a+1]-inicio[a];
+		if (visto[tope-1] < grado) {
+		    int i = desplazamiento[tope-1] + visto[tope-1]++;
+		    int b = destinos[inicio[a] + (i<grado ? i : i-grado)];
+		    if (rangoE[b]==-1) {
+			this.apilar(b, tope++, bajoE, rangoE, desplazamiento,
+				    visto, azar);
+		    } else if (bajoE[b] < bajoE[a]) {
+			// Como la condensacion es aciclica, b ya termino
+			bajoE[a] = bajoE[b];
+		    }
+		} else {
+		    tope--;
+		    rangoE[a] = siguiente++;
+		    if (rangoE[a] < bajoE[a]) {
+			bajoE[a] = rangoE[a];
+		    }
+		    if (tope>0 && bajoE[a] < bajoE[pila[tope-1]]) {
+			bajoE[pila[tope-1]] = bajoE[a];
+		    }
+		}
+	    }
+	}
+    }
+
+    /**
+     * Coloca a en la posicion tope de la pila del recorrido. Mientras esta
+     * en la pila su rango vale -2, para distinguirlo de los no visitados.
+     */
+    private void apilar(int a, int tope, int bajoE[], int rangoE[],
+			int desplazamiento[], int visto[], Random azar) {
+	int grado = inicio[a+1]-inicio[a];
+	pila[tope] = a;
+	visto[tope] = 0;
+	desplazamiento[tope] = grado>1 ? azar.nextInt(grado) : 0;
+	bajoE[a] = Integer.MAX_VALUE;
+	rangoE[a] = -2;
+    }
+
+    /**
+     * Indica si el intervalo de b esta contenido en el de a en todas las
+     * etiquetas
+     */
+    private boolean contiene(int a, int b) {
+	for (int e=0; e<numEtiquetas; e++) {
+	    if (bajo[e][b] < bajo[e][a] || rango[e][b] > rango[e][a]) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Indica si existe un camino desde el nodo a hasta el nodo b. Todo
+     * nodo se alcanza a si mismo.
+     *
+     * @param a nodo origen
+     * @param b nodo destino
+     * @return true si a alcanza a b, false en caso contrario o si alguno
+     * de los nodos no se encuentra en el grafo
+     */
+    public boolean reaches(int a, int b) {
+	if (a<0 || b<0 || a>=numNodes || b>=numNodes)
+	    return false;
+
+	int ca = componente[a];
+	int cb = componente[b];
+	if (ca==cb)
+	    return true;
+	// Las componentes estan en orden topologico
+	if (ca>cb || !this.contiene(ca,cb))
+	    return false;
+
+	consulta++;
+	if (consulta==0) {
+	    java.util.Arrays.fill(marca, 0);
+	    consulta = 1;
+	}
+	int tope = 0;
+	pila[tope++] = ca;
+	marca[ca] = consulta;
+	while (tope>0) {
+	    int x = pila[--tope];
+	    for (int p=inicio[x]; p<inicio[x+1]; p++) {
+		int y = destinos[p];
+		if (y==cb)
+		    return true;
+		if (marca[y]!=consulta && y<cb && this.contiene(y,cb)) {
+		    marca[y] = consulta;
+		    pila[tope++] = y;
+		}
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Retorna el numero de nodos del grafo indexado
+     *
+     * @return numero de nodos
+     */
+    public int getNumberOfNodes() {
+	return numNodes;
+    }
+
+}
@@ -0,0 +1,169 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * LectorArcos lee un grafo en el formato de texto del enunciado
+ * directamente sobre los bytes del archivo proyectado en memoria, sin
+ * crear Strings ni objetos Arc por linea. Los arcos se devuelven en dos
+ * arreglos de enteros, listos para DiGraph.addArcs o para el constructor
+ * de DiGraphCSR.
+ *
+ * El formato es:
+ * <pre>
+ * NUM_NODOS NUM_ARCOS
+ * FUENTE DESTINO
+ * ...
+ * </pre>
+ * Se leen a lo sumo NUM_ARCOS lineas de arcos; si el archivo tiene menos,
+ * se devuelven las que haya, y los arreglos se reservan segun lo que
+ * cabe en el archivo y no solo segun NUM_ARCOS. Cada linea debe empezar con dos enteros
+ * separados por un espacio; lo que sigue se ignora. Los numeros mal
+ * formados producen NumberFormatException, igual que Integer.parseInt.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class LectorArcos {
+
+    private final MappedByteBuffer datos;
+    private final int limite;
+    private int pos = 0;
+
+    private final int numNodos;
+    private final int numArcos;
+
+    /**
+     * Proyecta en memoria el archivo fileName y lee su primera linea.
+     *
+     * @param fileName nombre del archivo
+     * @throws FileNotFoundException si el archivo no existe
+     * @throws IOException si el archivo no se puede proyectar o supera
+     * los 2GB
+     * @throws NumberFormatException si la primera linea no tiene dos
+     * enteros
+     */
+    public LectorArcos(String fileName) throws FileNotFoundException,
+					IOException, NumberFormatException {
+	RandomAccessFile archivo = new RandomAccessFile(fileName, "r");
+	try {
+	    FileChannel canal = archivo.getChannel();
+	    long tam = canal.size();
+	    if (tam > Integer.MAX_VALUE) {
+		throw new IOException("Archivo demasiado grande: " + fileName);
+	    }
+	    this.datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tam);
+	    this.limite = (int) tam;
+	} finally {
+	    archivo.close();
+	}
+	this.numNodos = this.leerEntero();
+	this.numArcos = this.leerEntero();
+	this.saltarLinea();
+    }
+
+    /**
+     * Retorna el numero de nodos indicado en la primera linea
+     *
+     * @return numero de nodos
+     */
+    public int getNumberOfNodes() {
+	return numNodos;
+    }
+
+    /**
+     * Retorna el numero de arcos indicado en la primera linea
+     *
+     * @return numero de arcos
+     */
+    public int getNumberOfArcs() {
+	return numArcos;
+    }
+
+    /**
+     * Lee las lineas de arcos. Los arcos no se validan: pueden repetirse
+     * o tener nodos fuera de rango.
+     *
+     * @return un arreglo {fuentes, destinos}, con un elemento por linea
+     * leida
+     * @throws NumberFormatException si algun numero no es valido
+     */
+    public int[][] leerArcos() throws NumberFormatException {
+	// Cada linea de arco ocupa al menos 4 bytes ("0 0\n", la ultima
+	// puede no tener salto), asi que un encabezado corrupto no puede
+	// pedir arreglos mas grandes que el archivo
+	int maxArcos = (int) (((long) limite - pos + 1) / 4);
+	int src[] = new int[Math.max(Math.min(numArcos, maxArcos), 0)];
+	int dst[] = new int[src.length];
+	int m = 0;
+	while (m<src.length && pos<limite) {
+	    src[m] = this.leerEntero();
+	    dst[m] = this.leerEntero();
+	    m++;
+	    this.saltarLinea();
+	}
+	if (m<src.length) {
+	    src = java.util.Arrays.copyOf(src, m);
+	    dst = java.util.Arrays.copyOf(dst, m);
+	}
+	return new int[][] {src, dst};
+    }
+
+    /**
+     * Consume hasta el siguiente salto de linea, incluyendolo
+     */
+    private void saltarLinea() {
+	while (pos<limite && datos.get(pos)!='\n') {
+	    pos++;
+	}
+	if (pos<limite) {
+	    pos++;
+	}
+    }
+
+    /**
+     * Lee un entero con signo que empieza en pos, con las mismas reglas
+     * que Integer.parseInt, y consume el espacio que lo sigue.
+     */
+    private int leerEntero() throws NumberFormatException {
+	int ini = pos;
+	boolean negativo = false;
+	if (pos<limite && (datos.get(pos)=='-' || datos.get(pos)=='+')) {
+	    negativo = datos.get(pos)=='-';
+	    pos++;
+	}
+	long valor = 0;
+	int digitos = 0;
+	while (pos<limite) {
+	    int d = datos.get(pos) - '0';
+	    if (d<0 || d>9) {
+		break;
+	    }
+	    valor = valor*10 + d;
+	    if (valor > Integer.MAX_VALUE + 1L) {
+		throw new NumberFormatException("Numero fuera de rango");
+	    }
+	    digitos++;
+	    pos++;
+	}
+	if (digitos==0 || (pos<limite && datos.get(pos)!=' '
+			   && datos.get(pos)!='\n' && datos.get(pos)!='\r')) {
+	    throw new NumberFormatException("Numero invalido en la posicion " + ini);
+	}
+	if (negativo) {
+	    valor = -valor;
+	}
+	if (valor > Integer.MAX_VALUE) {
+	    throw new NumberFormatException("Numero fuera de rango");
+	}
+	if (pos<limite && datos.get(pos)==' ') {
+	    pos++;
+	}
+	return (int) valor;
+    }
+
+}
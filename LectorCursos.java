@@ -0,0 +1,255 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * LectorCursos lee archivos de entrada de Main (.input) directamente sobre
+ * los bytes del archivo proyectado en memoria. Los nombres de los cursos
+ * se convierten a String una sola vez y se registran en un
+ * DiccionarioNombres; los prerequisitos se buscan en el diccionario
+ * directamente sobre sus bytes, sin crear un String ni un arreglo por
+ * linea. El id de cada curso es su posicion en la lista de nombres.
+ *
+ * El formato es:
+ * <pre>
+ * numero de cursos
+ * un nombre de curso por linea
+ * numero de lineas de prerequisitos
+ * CURSO k PRE_1 ... PRE_k
+ * </pre>
+ * Los numeros mal formados o las lineas faltantes producen
+ * NumberFormatException, igual que Integer.parseInt.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class LectorCursos {
+
+    private final MappedByteBuffer datos;
+    private final int limite;
+    private int pos = 0;
+    private final Charset charset = Charset.defaultCharset();
+
+    // ids de los cursos, segun sus nombres
+    private DiccionarioNombres diccionario;
+
+    /**
+     * Proyecta en memoria el archivo fileName para leerlo.
+     *
+     * @param fileName nombre del archivo de entrada
+     * @throws FileNotFoundException si el archivo no existe
+     * @throws IOException si el archivo no se puede proyectar o supera
+     * los 2GB
+     */
+    public LectorCursos(String fileName) throws FileNotFoundException, IOException {
+	RandomAccessFile archivo = new RandomAccessFile(fileName, "r");
+	try {
+	    FileChannel canal = archivo.getChannel();
+	    long tam = canal.size();
+	    if (tam > Integer.MAX_VALUE) {
+		throw new IOException("Archivo demasiado grande: " + fileName);
+	    }
+	    this.datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tam);
+	    this.limite = (int) tam;
+	} finally {
+	    archivo.close();
+	}
+    }
+
+    /**
+     * Lee el numero de cursos y sus nombres.
+     *
+     * @return los nombres de los cursos en el orden del archivo; el id
+     * de cada curso es su posicion en este arreglo. Si un nombre se
+     * repite, los prerequisitos se asocian a su primera aparicion.
+     * @throws NumberFormatException si el numero de cursos no es valido o
+     * faltan lineas
+     */
+    public String[] leerNombres() throws NumberFormatException {
+	int numCursos = this.leerNumeroLinea();
+	String nombres[] = new String[numCursos];
+	diccionario = new DiccionarioNombres(numCursos);
+	for (int i=0; i<numCursos; i++) {
+	    int ini = pos;
+	    int fin = this.finDeLinea();
+	    if (fin<0) {
+		throw new NumberFormatException("Faltan nombres de cursos");
+	    }
+	    byte bytes[] = new byte[fin-ini];
+	    for (int j=0; j<bytes.length; j++) {
+		bytes[j] = datos.get(ini+j);
+	    }
+	    nombres[i] = new String(bytes, charset);
+	    diccionario.agregar(bytes);
+	}
+	return nombres;
+    }
+
+    /**
+     * Lee las lineas de prerequisitos y agrega al grafo un arco desde
+     * cada prerequisito hasta su curso. Debe llamarse despues de
+     * leerNombres(). Los nombres desconocidos se ignoran.
+     *
+     * @param grafo grafo con un nodo por cada curso
+     * @throws NumberFormatException si algun numero no es valido o faltan
+     * lineas o prerequisitos
+     */
+    public void leerArcos(DiGraph grafo) throws NumberFormatException {
+	int numLineas = this.leerNumeroLinea();
+
+	for (int i=0; i<numLineas; i++) {
+	    if (pos>=limite) {
+		throw new NumberFormatException("Faltan lineas de prerequisitos");
+	    }
+	    int nodoDestino = this.buscarToken();
+	    int numArcos = this.leerNumeroToken();
+	    for (int j=0; j<numArcos; j++) {
+		int nodoOrigen = this.buscarToken();
+		if (nodoOrigen>=0 && nodoDestino>=0) {
+		    grafo.insertArc(nodoOrigen, nodoDestino);
+		}
+	    }
+	    this.finDeLinea();
+	}
+    }
+
+    /**
+     * Avanza pos hasta el siguiente salto de linea (\n, \r\n o \r) y lo
+     * consume.
+     *
+     * @return la posicion donde termina la linea actual, -1 si ya no hay
+     * mas lineas
+     */
+    private int finDeLinea() {
+	if (pos>=limite) {
+	    return -1;
+	}
+	int i = pos;
+	while (i<limite) {
+	    byte b = datos.get(i);
+	    if (b=='\n' || b=='\r') {
+		break;
+	    }
+	    i++;
+	}
+	int fin = i;
+	if (i<limite) {
+	    if (datos.get(i)=='\r' && i+1<limite && datos.get(i+1)=='\n') {
+		i += 2;
+	    } else {
+		i++;
+	    }
+	}
+	pos = i;
+	return fin;
+    }
+
+    /**
+     * Fin del token que empieza en pos: el siguiente espacio o fin de
+     * linea.
+     */
+    private int finDeToken() {
+	int i = pos;
+	while (i<limite) {
+	    byte b = datos.get(i);
+	    if (b==' ' || b=='\n' || b=='\r') {
+		break;
+	    }
+	    i++;
+	}
+	return i;
+    }
+
+    /**
+     * Consume el token que empieza en pos y el espacio que lo sigue.
+     *
+     * @return el fin del token
+     * @throws NumberFormatException si ya no hay tokens en la linea
+     */
+    private int consumirToken() throws NumberFormatException {
+	if (pos>=limite || datos.get(pos)=='\n' || datos.get(pos)=='\r') {
+	    throw new NumberFormatException("Faltan elementos en la linea");
+	}
+	int fin = this.finDeToken();
+	pos = fin;
+	if (pos<limite && datos.get(pos)==' ') {
+	    pos++;
+	}
+	return fin;
+    }
+
+    /**
+     * Lee una linea que debe contener solo un entero no negativo
+     */
+    private int leerNumeroLinea() throws NumberFormatException {
+	int ini = pos;
+	int fin = this.finDeLinea();
+	if (fin<0) {
+	    throw new NumberFormatException("Falta una linea con un numero");
+	}
+	return this.convertir(ini, fin);
+    }
+
+    /**
+     * Lee un token que debe ser un entero no negativo
+     */
+    private int leerNumeroToken() throws NumberFormatException {
+	int ini = pos;
+	int fin = this.consumirToken();
+	return this.convertir(ini, fin);
+    }
+
+    /**
+     * Convierte los bytes [ini, fin) en un entero no negativo, con las
+     * mismas reglas que Integer.parseInt
+     */
+    private int convertir(int ini, int fin) throws NumberFormatException {
+	int i = ini;
+	if (i<fin && datos.get(i)=='+') {
+	    i++;
+	}
+	if (i>=fin) {
+	    throw new NumberFormatException("Numero vacio");
+	}
+	long valor = 0;
+	for (; i<fin; i++) {
+	    int d = datos.get(i) - '0';
+	    if (d<0 || d>9) {
+		throw new NumberFormatException("Numero invalido: " + this.decodificar(ini, fin));
+	    }
+	    valor = valor*10 + d;
+	    if (valor > Integer.MAX_VALUE) {
+		throw new NumberFormatException("Numero fuera de rango");
+	    }
+	}
+	return (int) valor;
+    }
+
+    /**
+     * Convierte los bytes [ini, fin) en un String
+     */
+    private String decodificar(int ini, int fin) {
+	byte bytes[] = new byte[fin-ini];
+	for (int i=0; i<bytes.length; i++) {
+	    bytes[i] = datos.get(ini+i);
+	}
+	return new String(bytes, charset);
+    }
+
+    /**
+     * Consume un token y lo busca entre los nombres de los cursos
+     *
+     * @return el id del curso, -1 si no existe
+     */
+    private int buscarToken() throws NumberFormatException {
+	int ini = pos;
+	int fin = this.consumirToken();
+	return diccionario.buscar(datos, ini, fin);
+    }
+
+}
@@ -0,0 +1,239 @@
+   /**
+   * ListaArreglo implementa la interfaz List <E> sobre un arreglo que
+   * crece al doble cuando se llena. Agregar al final cuesta O(1)
+   * amortizado y get(i) cuesta O(1), a diferencia de Lista que recorre
+   * la cadena desde el principio.
+   *
+   * @author José A. Goncalves y Jennifer Dos Reis
+   * @version 1.0
+   * @since 1.6
+   */
+public class ListaArreglo <E> implements List <E>,Cloneable {
+   /*
+    * elementos[0..tam-1] contiene los elementos de la lista, en orden.
+    * Las posiciones desde tam en adelante son null.
+    */
+    private E[] elementos;
+    private int tam = 0;
+
+    /**
+     * Crea una lista vacia.
+     */
+    public ListaArreglo() {
+	this(8);
+    }
+
+    /**
+     * Crea una lista vacia con espacio para <i>capacidad</i> elementos
+     * antes de tener que crecer.
+     *
+     * @param capacidad numero de elementos iniciales del arreglo
+     */
+    public ListaArreglo(int capacidad) {
+	elementos = (E[]) new Object[capacidad < 1 ? 1 : capacidad];
+    }
+
+    /**
+     * Garantiza que el arreglo tenga espacio para <i>minimo</i> elementos
+     */
+    private void asegurarCapacidad(int minimo) {
+	if (minimo > elementos.length) {
+	    int nueva = Math.max(minimo, 2*elementos.length);
+	    elementos = java.util.Arrays.copyOf(elementos, nueva);
+	}
+    }
+
+    /**
+     * Agrega el elemento de tipo E al final de la lista
+     *
+     * @param element Elemento a agregar. Debe ser no nulo
+     *
+     * @return True si fue agregado, false si es null
+     */
+    public boolean add(E element) {
+	if (element==null) {
+	    return false;
+	}
+	asegurarCapacidad(tam+1);
+	elementos[tam++] = element;
+	return true;
+    }
+
+    /**
+     * Agrega el elemento de tipo E a la lista
+     * @param index Posición en la lista donde se insertará el elemento.
+     *	      Debe ser mayor a 0. Si es mayor a this.size() se agrega al final de la lista.
+     * @param element Elemento a agregar. Debe ser no nulo
+     * @return True si fue agregado, false si es null
+     */
+    public boolean add(int index, E element) {
+	if (element==null || index<0) {
+	    return false;
+	}
+	if (index>=tam) {
+	    return this.add(element);
+	}
+	asegurarCapacidad(tam+1);
+	System.arraycopy(elementos, index, elementos, index+1, tam-index);
+	elementos[index] = element;
+	tam++;
+	return true;
+    }
+
+    /**
+     * Elimina todos los elementos de la lista
+     */
+    public void clear() {
+	java.util.Arrays.fill(elementos, 0, tam, null);
+	tam = 0;
+    }
+
+    /**
+     * Crea una copia de esta lista con los mismos elementos. Los
+     * elementos no se copian.
+     *
+     * @return La copia de esta lista
+     */
+    @Override
+    public List clone() {
+	ListaArreglo<E> clon = new ListaArreglo<E>(tam);
+	System.arraycopy(elementos, 0, clon.elementos, 0, tam);
+	clon.tam = tam;
+	return clon;
+    }
+
+    /**
+     * Verifica si un elemento se encuentra en la lista.
+     *
+     * @param o Objeto a buscar, el cual debe implementar un método equals apropiado.
+     *
+     * @return True si está, false en caso contrario
+     */
+    public boolean contains(Object o) {
+	return this.indexOf(o) >= 0;
+    }
+
+    /**
+     * Compara dos listas
+     *
+     * @param o La lista con la cual se va a comparar
+     *
+     * @return True si las listas son idénticas, falso en caso contrario.
+     */
+    public boolean equals(List<E> o) {
+	if (this.tam!=o.size()) {
+	    return false;
+	}
+	Object otros[] = o.toArray();
+	for (int i=0; i<tam; i++) {
+	    if (!elementos[i].equals(otros[i])) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Devuelve el elemento almacenado en la posicion index de la lista.
+     *
+     * @param index Posicion del elemento a devolver.
+     *
+     * @return null si index &gt; size()
+     */
+    public E get(int index) {
+	if (index<0 || index>=tam) {
+	    return null;
+	}
+	return elementos[index];
+    }
+
+    /**
+     * Determina la posicion del elemento <i>o</i> en la lista
+     *
+     * @param o el objeto
+     * @return Si el elemento esta en la lista retorna su posicion, sino -1
+     */
+    public int indexOf(Object o) {
+	for (int i=0; i<tam; i++) {
+	    if (elementos[i].equals(o)) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Determina si la lista no tiene elementos.
+     *
+     * @return true si size() &eq; 0. falso en caso contrario
+     */
+    public boolean isEmpty() {
+	return tam==0;
+    }
+
+    /**
+     * Elimina el elemento en la posicion index.
+     *
+     * @param index la posicion del elemento a eliminar, 0 &le; index &lt; size()
+     * @return el elemento eliminado, si no se elimino ningun elemento retorna
+     * null
+     */
+    public E remove(int index) {
+	if (index<0 || index>=tam) {
+	    return null;
+	}
+	E elemento = elementos[index];
+	System.arraycopy(elementos, index+1, elementos, index, tam-index-1);
+	elementos[--tam] = null;
+	return elemento;
+    }
+
+    /**
+     * Elimina el elemento <i>o</i>.
+     *
+     * @param o el elemento a eliminar.
+     * @return true si el elemento existia y fue eliminado, false en caso contrario.
+     */
+    public boolean remove(Object o) {
+	int i = this.indexOf(o);
+	if (i<0) {
+	    return false;
+	}
+	this.remove(i);
+	return true;
+    }
+
+    /**
+     * Retorna el numero de elementos enla lista
+     *
+     * @return el numero de elementos en la lista
+     */
+    public int size() {
+	return tam;
+    }
+
+    /**
+     * Retorna un nuevo arreglo que contiene todos los elementos
+     * en esta lista {@code List}.
+     *
+     * @return un arreglo con los elementos de esta lista
+     */
+    public Object[] toArray() {
+	return java.util.Arrays.copyOf(elementos, tam, Object[].class);
+    }
+
+    /**
+     * Retorna la retpresentacion en String de esta {@code List}
+     *
+     * @return la retpresentacion en String de esta {@code List}
+     */
+    @Override
+    public String toString() {
+	StringBuilder salida = new StringBuilder();
+	for (int i=0; i<tam; i++) {
+	    salida.append(elementos[i].toString()).append(" -> ");
+	}
+	return salida.append("null").toString();
+    }
+
+}
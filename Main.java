@@ -1,9 +1,6 @@
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintStream;
 import java.lang.Integer;
 
 /**
@@ -19,45 +16,104 @@ import java.lang.Integer;
  * @since 1.6
 **/
 
-public class 
-
-    private static int busqueda(String s, String[] a){
-	int ini = 0;
-	int fin = a.length-1;
-	while (ini <= fin) {
-	    int medio = (ini+fin)/2;
-	    if (a[medio].equals(s)) {
-		return medio;
-	    } else if (a[medio].compareTo(s) < 0) {
-		ini = medio+1;
-	    } else {
-		fin = medio-1;
+public class Main {
+
+    /**
+     * Ordena los ids de los cursos segun sus nombres con mergesort, que
+     * es O(n log n) aun cuando los nombres ya vienen ordenados.
+     *
+     * @param nombres nombres de los cursos, indexados por id
+     * @return los ids de los cursos en orden alfabetico de sus nombres
+     */
+    public static int[] ordenar (String[] nombres) {
+	int n = nombres.length;
+	int[] orden = new int[n];
+	int[] aux = new int[n];
+	for (int i=0; i<n; i++) {
+	    orden[i] = i;
+	}
+	for (int ancho=1; ancho<n; ancho*=2) {
+	    for (int ini=0; ini<n-ancho; ini+=2*ancho) {
+		int medio = ini+ancho;
+		int fin = Math.min(n, medio+ancho);
+		int i = ini;
+		int j = medio;
+		int k = ini;
+		while (i<medio && j<fin) {
+		    if (nombres[orden[j]].compareTo(nombres[orden[i]]) < 0) {
+			aux[k++] = orden[j++];
+		    } else {
+			aux[k++] = orden[i++];
+		    }
+		}
+		while (i<medio) {
+		    aux[k++] = orden[i++];
+		}
+		while (j<fin) {
+		    aux[k++] = orden[j++];
+		}
+		System.arraycopy(aux, ini, orden, ini, fin-ini);
 	    }
 	}
-	return -1;
+	return orden;
     }
 
-    public static void ordenar (String[] arreglo) {
-	quicksort(arreglo, 0, arreglo.length);
-    }
+    /**
+     * Escribe en fileName cada curso, en orden alfabetico, con el numero
+     * y los nombres de sus predecesores en grafoReducido, tambien en orden
+     * alfabetico.
+     *
+     * @param fileName nombre del archivo de salida
+     * @param nombresNodos nombres de los cursos, indexados por id
+     * @param grafoReducido grafo de prerequisitos inmediatos
+     * @throws IOException si el archivo no se puede escribir
+     */
+    public static void escribir(String fileName, String[] nombresNodos,
+				DiGraph grafoReducido) throws IOException {
+	int numNodos = nombresNodos.length;
+	// Arreglo reutilizable para los predecesores de cada nodo
+	int[] predecesores = new int[numNodos];
+
+	EscritorSalida out = new EscritorSalida(fileName, nombresNodos);
+	try {
+	    // Los cursos y sus predecesores se escriben en orden alfabetico;
+	    // rango[i] es la posicion del curso i en ese orden
+	    int[] orden = ordenar(nombresNodos);
+	    int[] rango = new int[numNodos];
+	    for (int r=0; r<numNodos; r++) {
+		rango[orden[r]] = r;
+	    }
 
-    public static void quicksort (String[] arreglo, int ini, int fin) {
-	if ( fin-ini <= 1 ) {
-	    return;
-	}
-	int limite = ini-1;
-	String pivote = arreglo[fin-1];
-        for (int j=ini; j<fin; j++) {
-	    if (arreglo[j].compareTo(pivote) <= 0) {
-		limite++;
-		String temp = arreglo[j];
-		arreglo[j] = arreglo[limite];
-		arreglo[limite] = temp;
+	    for (int r=0; r<numNodos; r++) {
+		int i = orden[r];
+		int numPredecesores = grafoReducido.getPredecesors(i, predecesores);
+		ReduccionTransitiva.ordenarPorPosicion(predecesores, numPredecesores, rango);
+		out.escribirCurso(i, predecesores, numPredecesores);
 	    }
+	} finally {
+	    out.close();
 	}
-        quicksort(arreglo, ini, limite);
-	quicksort(arreglo, limite+1, fin);
-	return;
+    }
+
+    /**
+     * Hace lo mismo que main, pero lanza los errores en lugar de
+     * informarlos por la salida de errores: lee los cursos de entrada,
+     * calcula sus prerequisitos inmediatos y los escribe en salida.
+     *
+     * @param entrada nombre del archivo de cursos
+     * @param salida nombre del archivo de salida
+     * @throws FileNotFoundException si entrada no existe
+     * @throws IOException si hubo un error al leer o escribir
+     * @throws NumberFormatException si entrada no tiene el formato
+     * esperado
+     */
+    public static void procesar(String entrada, String salida)
+	throws FileNotFoundException, IOException, NumberFormatException {
+	LectorCursos lector = new LectorCursos(entrada);
+	String[] nombresNodos = lector.leerNombres();
+	DiGraph grafoInput = new DiGraphList(nombresNodos.length);
+	lector.leerArcos(grafoInput);
+	escribir(salida, nombresNodos, ReduccionTransitiva.reducir(grafoInput));
     }
 
     public static void main(String[] args){
@@ -67,42 +123,21 @@ public class
 	    return;
 	}
 
-	BufferedReader in = null;
 	String[] nombresNodos = null;
 	DiGraph grafoInput = null;
 	int numNodos = 0;
 
 	try {
-	    in = new BufferedReader(new FileReader(args[0]));
-
-	    String linea = in.readLine();
-	    numNodos = Integer.parseInt(linea);
-	    nombresNodos = new String[numNodos];
+	    LectorCursos lector = new LectorCursos(args[0]);
 
 	    // Leer nombres de los cursos 
-	    for (int i=0; i<numNodos; i++) {
-		nombresNodos[i] = in.readLine();
-	    }
-	    ordenar(nombresNodos);
-
-	    // Crear grafo y agregar los arcos correspondientes 
-	    grafoInput = new DiGraphMatrix(numNodos);
-	    linea = in.readLine();
-	    int numLineas = Integer.parseInt(linea);
-	    String[] partes;
-
-	    for (int i=0; i<numLineas; i++) {
-		linea = in.readLine(); 	
-		partes = linea.split(" ");
-		
-		int nodoDestino = busqueda(partes[0],nombresNodos);
-		int numArcos = Integer.parseInt(partes[1]);
-
-		for (int j=0; j<numArcos; j++) {
-		    int nodoOrigen = busqueda(partes[j+2],nombresNodos);
-		    Arc arco = grafoInput.addArc(nodoOrigen,nodoDestino);
-		}
-	    } 
+	    nombresNodos = lector.leerNombres();
+	    numNodos = nombresNodos.length;
+
+	    // Crear grafo y agregar los arcos correspondientes. No se calcula
+	    // la clausura, asi que basta una representacion dispersa
+	    grafoInput = new DiGraphList(numNodos);
+	    lector.leerArcos(grafoInput);
 	    
 	}catch (FileNotFoundException fnfe) {
 	    System.err.println("Error al cargar archivo, verifique el nombre");
@@ -115,48 +150,13 @@ public class
 	    return;
 	}
 
-	DiGraph grafoAlcance = grafoInput.royWarshall();
-	DiGraph grafoReducido = (DiGraph)grafoAlcance.clone();
-	
-	// Calcular grafo excluyendo arcos de transitividad 
-	for (int i=0; i<numNodos; i++) {
-	    Arc borrado = grafoAlcance.delArc(i,i);
-	    borrado = grafoReducido.delArc(i,i);
-	    List<Integer> predecesores = grafoAlcance.getPredecesors(i);
-	   
-	    for (int j=0; j<predecesores.size(); j++) {
-		int nodoOrigen = predecesores.get(j).intValue();
-		boolean listo = false;
-		for (int k=0; k<predecesores.size() && !listo; k++) {
-		    int nodoDestino = predecesores.get(k).intValue();
-		    if (nodoDestino==nodoOrigen || nodoDestino==i) {
-			continue;
-		    }
-		    if (grafoAlcance.isArc(nodoOrigen,nodoDestino)) {
-			Arc arco = grafoReducido.delArc(nodoOrigen,i);
-			listo = true;
-		    }
-		}
-	    }
-	}
+	// Calcular grafo excluyendo arcos de transitividad. Los ciclos de
+	// correquisitos se resuelven sobre las componentes fuertemente conexas
+	DiGraph grafoReducido = ReduccionTransitiva.reducir(grafoInput);
 
-	
 	// Imprimir Grafo 
 	try {
-	    PrintStream out = new PrintStream(args[1]);
-
-	    //No ordenamos los predecesores porque DiGraphMatrix
-	    //ya devuelve los devuelve en el orden que se necesita
-	    for (int i=0; i<numNodos; i++) {
-		String salida = nombresNodos[i]+" ";
-		List<Integer> pred = grafoReducido.getPredecesors(i);
-		salida += pred.size();
-		for (int j=0; j<pred.size(); j++) {
-		    salida += " "+nombresNodos[pred.get(j).intValue()];
-		}
-		out.print(salida+"\n");
-	    }
-
+	    escribir(args[1], nombresNodos, grafoReducido);
 	} catch (IOException ioe) {
 	    System.err.println("No se puede escribir el archivo");
 	}
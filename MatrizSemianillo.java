@@ -0,0 +1,193 @@
+/**
+ * MatrizSemianillo es una matriz densa de pesos sobre un Semianillo, con
+ * la que se calcula la clausura de un grafo para todos los pares de
+ * nodos: alcance con BOOLEANO, caminos mas cortos con MIN_PLUS y caminos
+ * mas largos con MAX_PLUS.
+ *
+ * El valor de un arco es s.peso(costo), con el costo del Arc que da
+ * getOutEdgesView del grafo; si hay un solo arco por par de nodos esto
+ * incluye los costos de DiGraphList y de un DiGraphCSR con costos. Los
+ * grafos de matriz no guardan costos y sus arcos valen s.peso(0).
+ *
+ * cerrar() aplica Roy-Warshall por bloques con ClausuraPorBloques, el
+ * mismo recorrido que usa DiGraphMatrix; los bloques de una fase se
+ * reparten en un ForkJoinPool si se establece mas de un hilo. El mismo
+ * nucleo sirve para todos los semianillos; solo cambia Semianillo.relajar.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class MatrizSemianillo {
+
+    private final Semianillo semianillo;
+    private final double m[][];
+    // numero de hilos que usa cerrar(); con 1 la clausura es secuencial
+    private int paralelismo = 1;
+    // lado de los bloques que usa cerrar(); 128 ocupa 128KB por bloque
+    private int tamBloque = 128;
+
+    /**
+     * Precondicion: g es distinto de null.
+     * Crea la matriz de pesos de los arcos de g en el semianillo s, con
+     * s.uno() en la diagonal y s.cero() donde no hay arco. Si hay varios
+     * arcos entre los mismos nodos se combinan con s.sumar.
+     *
+     * @param g el grafo
+     * @param s el semianillo
+     */
+    public MatrizSemianillo(DiGraph g, Semianillo s) {
+	int n = g.getNumberOfNodes();
+	this.semianillo = s;
+	this.m = new double[n][n];
+	for (int i=0; i<n; i++) {
+	    double fila[] = m[i];
+	    java.util.Arrays.fill(fila, s.cero());
+	    fila[i] = s.uno();
+	    List<Arc> arcos = g.getOutEdgesView(i);
+	    for (int j=0; j<arcos.size(); j++) {
+		Arc arco = arcos.get(j);
+		int w = arco.getDestination();
+		fila[w] = s.sumar(fila[w], s.peso(arco.getCost()));
+	    }
+	}
+    }
+
+    /**
+     * Retorna el semianillo de esta matriz
+     *
+     * @return el semianillo
+     */
+    public Semianillo getSemianillo() {
+	return semianillo;
+    }
+
+    /**
+     * Retorna el numero de nodos
+     *
+     * @return numero de filas de la matriz
+     */
+    public int getNumberOfNodes() {
+	return m.length;
+    }
+
+    /**
+     * Retorna el valor del par (i,j): despues de cerrar(), el del mejor
+     * camino de i a j.
+     *
+     * @param i nodo fuente
+     * @param j nodo destino
+     * @return el valor, o getSemianillo().cero() si no hay camino o algun
+     * nodo no es valido
+     */
+    public double get(int i, int j) {
+	if (i<0 || j<0 || i>=m.length || j>=m.length) {
+	    return semianillo.cero();
+	}
+	return m[i][j];
+    }
+
+    /**
+     * Indica si hay camino de i a j
+     *
+     * @param i nodo fuente
+     * @param j nodo destino
+     * @return true si el valor de (i,j) es distinto de cero()
+     */
+    public boolean isArc(int i, int j) {
+	return this.get(i,j) != semianillo.cero();
+    }
+
+    /**
+     * Establece el numero de hilos que usa cerrar()
+     *
+     * @param hilos numero de hilos. Si es menor a 1 se usa 1.
+     */
+    public void setParallelism(int hilos) {
+	this.paralelismo = hilos < 1 ? 1 : hilos;
+    }
+
+    /**
+     * Retorna el numero de hilos que usa cerrar()
+     *
+     * @return el numero de hilos que usa cerrar()
+     */
+    public int getParallelism() {
+	return paralelismo;
+    }
+
+    /**
+     * Establece el lado de los bloques en los que cerrar() divide la
+     * matriz
+     *
+     * @param lado lado de los bloques. Si es menor a 1 se usa 1.
+     */
+    public void setBlockSize(int lado) {
+	this.tamBloque = lado < 1 ? 1 : lado;
+    }
+
+    /**
+     * Retorna el lado de los bloques que usa cerrar()
+     *
+     * @return el lado de los bloques que usa cerrar()
+     */
+    public int getBlockSize() {
+	return tamBloque;
+    }
+
+    /**
+     * Reemplaza cada valor (i,j) por el del mejor camino de i a j.
+     *
+     * @return false si el grafo tiene un ciclo con el que la clausura no
+     * esta definida (de costo negativo con MIN_PLUS, positivo con
+     * MAX_PLUS); en ese caso los valores de la matriz no tienen sentido.
+     */
+    public boolean cerrar() {
+	final Semianillo s = semianillo;
+	new ClausuraPorBloques() {
+	    @Override
+	    protected void actualizarBloque(int kIni, int kFin,
+					    int iIni, int iFin, int jIni, int jFin) {
+		MatrizSemianillo.actualizarBloque(s, m, kIni, kFin, iIni, iFin, jIni, jFin);
+	    }
+	}.cerrar(m.length, Math.min(tamBloque, Math.max(m.length, 1)), paralelismo);
+	for (int i=0; i<m.length; i++) {
+	    if (semianillo.cicloInvalido(m[i][i])) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Calcula la clausura de g en el semianillo s con un solo hilo.
+     *
+     * @param g el grafo
+     * @param s el semianillo
+     * @return la matriz cerrada, null si la clausura no esta definida
+     */
+    public static MatrizSemianillo clausura(DiGraph g, Semianillo s) {
+	MatrizSemianillo matriz = new MatrizSemianillo(g, s);
+	return matriz.cerrar() ? matriz : null;
+    }
+
+    /**
+     * Aplica los pasos k en [kIni, kFin) sobre el bloque de filas
+     * [iIni, iFin) y columnas [jIni, jFin) de m.
+     */
+    private static void actualizarBloque(Semianillo s, double m[][], int kIni, int kFin,
+					 int iIni, int iFin, int jIni, int jFin) {
+	double cero = s.cero();
+	for (int k=kIni; k<kFin; k++) {
+	    double filaK[] = m[k];
+	    for (int i=iIni; i<iFin; i++) {
+		double aik = m[i][k];
+		if (aik != cero) {
+		    s.relajar(m[i], aik, filaK, jIni, jFin);
+		}
+	    }
+	}
+    }
+
+}
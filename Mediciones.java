@@ -0,0 +1,506 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Programa que mide el tiempo de las operaciones principales del proyecto
+ * y escribe los resultados en formato JSON, para poder compararlos entre
+ * versiones. Mide:
+ * <ul>
+ * <li>royWarshall() de DiGraphMatrix, DiGraphBitMatrix, DiGraphList y
+ * DiGraphCSR</li>
+ * <li>add, get, contains y remove de Lista y ListaArreglo</li>
+ * <li>addArc, isArc y delArc de cada grafo</li>
+ * <li>Main completo: lectura, reduccion y escritura</li>
+ * </ul>
+ * Cada medicion se repite sobre cada combinacion de tamaño y densidad,
+ * con unas corridas de calentamiento previas que no se reportan. Lo que
+ * cada corrida necesita de antemano, como el grafo vacio de addArc o la
+ * copia de delArc, se crea antes de tomar el tiempo.
+ *
+ * Las mismas operaciones se pueden medir con JMH mediante el benchmark
+ * de jmh/, que las obtiene con operacion(String, int, double, long):
+ * mvn -P jmh package &amp;&amp; java -jar target/benchmarks.jar
+ *
+ * Sintaxis: java Mediciones [-n 100,500] [-densidad 0.01,0.05]
+ *                           [-repeticiones 5] [-semilla 1] [archivo.json]
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class Mediciones {
+
+    // evita que el compilador elimine el trabajo medido
+    private static volatile long sumidero;
+
+    private int tamanos[] = {100, 500};
+    private double densidades[] = {0.01, 0.05};
+    private int repeticiones = 5;
+    private long semilla = 1;
+    private StringBuilder json = new StringBuilder();
+    private boolean primero = true;
+
+    /**
+     * Una operacion a medir. preparar() deja listo el estado de una
+     * corrida, como un grafo vacio o una copia, y no se mide. correr() es
+     * lo que se mide y retorna un valor que depende del trabajo hecho,
+     * para que no se pueda eliminar; call() es lo mismo, para que los
+     * benchmarks de jmh/, que no pueden nombrar clases del paquete por
+     * omision, la corran como un Callable.
+     */
+    public static abstract class Operacion implements Callable<Long> {
+	// numero de operaciones que hace cada corrida, para reportar el
+	// tiempo por operacion
+	private final int operaciones;
+
+	Operacion(int operaciones) {
+	    this.operaciones = operaciones;
+	}
+
+	/**
+	 * Retorna el numero de operaciones que hace cada corrida
+	 *
+	 * @return numero de operaciones por corrida
+	 */
+	public int getOperaciones() {
+	    return operaciones;
+	}
+
+	/**
+	 * Prepara el estado de la siguiente corrida. Por omision no hace
+	 * nada.
+	 *
+	 * @throws Exception si no se pudo preparar la corrida
+	 */
+	public void preparar() throws Exception {
+	}
+
+	/**
+	 * Hace el trabajo medido
+	 *
+	 * @return un valor que depende del trabajo hecho
+	 * @throws Exception si la operacion falla
+	 */
+	public abstract long correr() throws Exception;
+
+	/**
+	 * Igual que correr()
+	 *
+	 * @return el valor de correr()
+	 * @throws Exception si la operacion falla
+	 */
+	public Long call() throws Exception {
+	    return Long.valueOf(this.correr());
+	}
+    }
+
+    public static void main(String[] args) {
+	Mediciones m = new Mediciones();
+	String salida = null;
+	try {
+	    for (int i=0; i<args.length; i++) {
+		if (args[i].equals("-n")) {
+		    m.tamanos = enteros(args[++i]);
+		} else if (args[i].equals("-densidad")) {
+		    m.densidades = reales(args[++i]);
+		} else if (args[i].equals("-repeticiones")) {
+		    m.repeticiones = Integer.parseInt(args[++i]);
+		} else if (args[i].equals("-semilla")) {
+		    m.semilla = Long.parseLong(args[++i]);
+		} else {
+		    salida = args[i];
+		}
+	    }
+	    if (m.repeticiones < 1) {
+		throw new IllegalArgumentException("repeticiones debe ser mayor a 0");
+	    }
+	} catch (RuntimeException e) {
+	    System.err.println("Sintaxis: java Mediciones [-n 100,500] [-densidad 0.01,0.05]"
+			       + " [-repeticiones 5] [-semilla 1] [archivo.json]");
+	    return;
+	}
+
+	try {
+	    m.correrTodas();
+	    PrintStream out = salida==null ? System.out : new PrintStream(salida);
+	    try {
+		out.print(m.json.toString());
+		out.flush();
+	    } finally {
+		if (out!=System.out) {
+		    out.close();
+		}
+	    }
+	} catch (Exception e) {
+	    System.err.println("Error: " + e);
+	}
+    }
+
+    private static int[] enteros(String s) {
+	String partes[] = s.split(",");
+	int valores[] = new int[partes.length];
+	for (int i=0; i<partes.length; i++) {
+	    valores[i] = Integer.parseInt(partes[i]);
+	}
+	return valores;
+    }
+
+    private static double[] reales(String s) {
+	String partes[] = s.split(",");
+	double valores[] = new double[partes.length];
+	for (int i=0; i<partes.length; i++) {
+	    valores[i] = Double.parseDouble(partes[i]);
+	}
+	return valores;
+    }
+
+    /**
+     * Corre todas las mediciones para cada tamaño y densidad
+     */
+    private void correrTodas() throws Exception {
+	json.append("{\n  \"repeticiones\": ").append(repeticiones)
+	    .append(",\n  \"semilla\": ").append(semilla)
+	    .append(",\n  \"resultados\": [");
+	for (int t=0; t<tamanos.length; t++) {
+	    final int n = tamanos[t];
+	    this.medirListas(n);
+	    for (int d=0; d<densidades.length; d++) {
+		final double densidad = densidades[d];
+		final int arcos[][] = arcosAleatorios(n, densidad, semilla);
+		this.medirGrafos(n, densidad, arcos);
+		this.medirMain(n, densidad);
+	    }
+	}
+	json.append("\n  ]\n}\n");
+    }
+
+    /**
+     * Genera los arcos de un grafo aleatorio de n nodos donde cada arco
+     * existe con probabilidad densidad
+     */
+    private static int[][] arcosAleatorios(int n, double densidad, long semilla) {
+	Random azar = new Random(semilla);
+	int m = (int) Math.min((long) Integer.MAX_VALUE - 8, (long) (densidad*n*n));
+	int src[] = new int[m];
+	int dst[] = new int[m];
+	for (int e=0; e<m; e++) {
+	    src[e] = azar.nextInt(n);
+	    dst[e] = azar.nextInt(n);
+	}
+	return new int[][] {src, dst};
+    }
+
+    /**
+     * Construye un grafo del tipo indicado con los arcos dados
+     */
+    private static DiGraph construir(String tipo, int n, int arcos[][]) {
+	if (tipo.equals("DiGraphCSR")) {
+	    return new DiGraphCSR(n, arcos[0], arcos[1], arcos[0].length);
+	}
+	DiGraph g;
+	if (tipo.equals("DiGraphMatrix")) {
+	    g = new DiGraphMatrix(n);
+	} else if (tipo.equals("DiGraphBitMatrix")) {
+	    g = new DiGraphBitMatrix(n);
+	} else {
+	    g = new DiGraphList(n);
+	}
+	for (int e=0; e<arcos[0].length; e++) {
+	    g.addArc(arcos[0][e], arcos[1][e]);
+	}
+	return g;
+    }
+
+    private void medirGrafos(int n, double densidad, int arcos[][]) throws Exception {
+	final String tipos[] = {"DiGraphMatrix", "DiGraphBitMatrix", "DiGraphList", "DiGraphCSR"};
+	final String metodos[] = {"royWarshall", "addArc", "isArc", "delArc"};
+	for (int t=0; t<tipos.length; t++) {
+	    DiGraph g = construir(tipos[t], n, arcos);
+	    for (int k=0; k<metodos.length; k++) {
+		Operacion op = operacionGrafo(tipos[t], metodos[k], n, arcos, g);
+		if (op!=null) {
+		    this.medir(tipos[t] + "." + metodos[k], n, densidad, op);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Crea la operacion metodo del grafo de tipo dado. g es un grafo de
+     * ese tipo con los arcos dados; addArc parte de un grafo vacio y
+     * delArc de una copia de g, creados en preparar().
+     *
+     * @return la operacion, null si el metodo no existe o no se mide para
+     * el tipo (DiGraphCSR solo mide royWarshall)
+     */
+    private static Operacion operacionGrafo(final String tipo, String metodo, final int n,
+					    final int arcos[][], final DiGraph g) {
+	final int m = arcos[0].length;
+	if (metodo.equals("royWarshall")) {
+	    return new Operacion(1) {
+		public long correr() {
+		    return g.royWarshall().getNumberOfArcs();
+		}
+	    };
+	}
+	if (tipo.equals("DiGraphCSR")) {
+	    return null;
+	}
+	if (metodo.equals("addArc")) {
+	    return new Operacion(m) {
+		private DiGraph h;
+		public void preparar() {
+		    // suelta el grafo anterior antes de crear el nuevo
+		    h = null;
+		    h = construir(tipo, n, new int[][] {new int[0], new int[0]});
+		}
+		public long correr() {
+		    long total = 0;
+		    for (int e=0; e<m; e++) {
+			total += h.addArc(arcos[0][e], arcos[1][e])==null ? 0 : 1;
+		    }
+		    return total;
+		}
+	    };
+	}
+	if (metodo.equals("isArc")) {
+	    return new Operacion(m) {
+		public long correr() {
+		    long total = 0;
+		    for (int e=0; e<m; e++) {
+			total += g.isArc(arcos[1][e], arcos[0][e]) ? 1 : 0;
+		    }
+		    return total;
+		}
+	    };
+	}
+	if (metodo.equals("delArc")) {
+	    return new Operacion(m) {
+		private DiGraph h;
+		public void preparar() {
+		    // suelta la copia anterior antes de crear la nueva
+		    h = null;
+		    h = (DiGraph) g.clone();
+		}
+		public long correr() {
+		    long total = 0;
+		    for (int e=0; e<m; e++) {
+			total += h.delArc(arcos[0][e], arcos[1][e])==null ? 0 : 1;
+		    }
+		    return total;
+		}
+	    };
+	}
+	return null;
+    }
+
+    private void medirListas(int n) throws Exception {
+	final String tipos[] = {"Lista", "ListaArreglo"};
+	final String metodos[] = {"add", "get", "contains", "remove"};
+	for (int t=0; t<tipos.length; t++) {
+	    for (int k=0; k<metodos.length; k++) {
+		this.medir(tipos[t] + "." + metodos[k], n, 0,
+			   operacionLista(tipos[t], metodos[k], n));
+	    }
+	}
+    }
+
+    /**
+     * Crea la operacion metodo de la lista de tipo dado con n elementos.
+     * add parte de una lista vacia y remove de una copia de una lista
+     * llena, creadas en preparar().
+     *
+     * @return la operacion, null si el metodo no existe
+     */
+    private static Operacion operacionLista(final String tipo, String metodo, final int n) {
+	final List<Integer> llena = Mediciones.<Integer>nuevaLista(tipo);
+	for (int i=0; i<n; i++) {
+	    llena.add(i);
+	}
+	if (metodo.equals("add")) {
+	    return new Operacion(n) {
+		private List<Integer> l;
+		public void preparar() {
+		    l = nuevaLista(tipo);
+		}
+		public long correr() {
+		    for (int i=0; i<n; i++) {
+			l.add(i);
+		    }
+		    return l.size();
+		}
+	    };
+	}
+	if (metodo.equals("get")) {
+	    return new Operacion(n) {
+		public long correr() {
+		    long total = 0;
+		    for (int i=0; i<n; i++) {
+			total += llena.get(i).intValue();
+		    }
+		    return total;
+		}
+	    };
+	}
+	if (metodo.equals("contains")) {
+	    return new Operacion(n) {
+		public long correr() {
+		    long total = 0;
+		    for (int i=0; i<n; i++) {
+			total += llena.contains(Integer.valueOf(n-1-i)) ? 1 : 0;
+		    }
+		    return total;
+		}
+	    };
+	}
+	if (metodo.equals("remove")) {
+	    return new Operacion(n) {
+		private List<Integer> l;
+		public void preparar() {
+		    // una lista igual a llena, sin pasar por el clone() sin tipo
+		    l = nuevaLista(tipo);
+		    for (int i=0; i<n; i++) {
+			l.add(i);
+		    }
+		}
+		public long correr() {
+		    long total = 0;
+		    for (int i=0; i<n; i++) {
+			total += l.remove(Integer.valueOf(i)) ? 1 : 0;
+		    }
+		    return total;
+		}
+	    };
+	}
+	return null;
+    }
+
+    private static <E> List<E> nuevaLista(String tipo) {
+	return tipo.equals("Lista") ? new Lista<E>() : new ListaArreglo<E>();
+    }
+
+    private void medirMain(int n, double densidad) throws Exception {
+	this.medir("Main", n, densidad, operacionMain(n, densidad, semilla));
+    }
+
+    /**
+     * Crea la operacion que corre Main de punta a punta sobre un archivo
+     * de cursos generado, donde cada curso tiene como prerequisito a cada
+     * curso anterior con probabilidad densidad
+     */
+    private static Operacion operacionMain(int n, double densidad, long semilla) throws IOException {
+	final File entrada = File.createTempFile("mediciones", ".input");
+	final File salida = File.createTempFile("mediciones", ".output");
+	entrada.deleteOnExit();
+	salida.deleteOnExit();
+
+	Random azar = new Random(semilla);
+	PrintStream out = new PrintStream(entrada);
+	try {
+	    out.print(n + "\n");
+	    for (int i=0; i<n; i++) {
+		out.print("C" + i + "\n");
+	    }
+	    out.print(n + "\n");
+	    StringBuilder linea = new StringBuilder();
+	    for (int v=0; v<n; v++) {
+		linea.setLength(0);
+		int k = 0;
+		for (int u=0; u<v; u++) {
+		    if (azar.nextDouble() < densidad) {
+			linea.append(" C").append(u);
+			k++;
+		    }
+		}
+		out.print("C" + v + " " + k + linea + "\n");
+	    }
+	} finally {
+	    out.close();
+	}
+
+	return new Operacion(1) {
+	    public long correr() throws IOException {
+		// Main.main informaria los errores y retornaria normalmente;
+		// procesar los lanza, y la medicion falla
+		Main.procesar(entrada.getPath(), salida.getPath());
+		return salida.length();
+	    }
+	};
+    }
+
+    /**
+     * Crea una de las operaciones que mide este programa, sobre un grafo
+     * aleatorio de n nodos con la densidad y semilla dadas. Sirve para
+     * correr las mismas mediciones con JMH (ver jmh/).
+     *
+     * @param nombre nombre de la medicion tal como aparece en el JSON, por
+     * ejemplo "DiGraphList.addArc", "ListaArreglo.get" o "Main"
+     * @param n numero de nodos, o de elementos para las listas
+     * @param densidad probabilidad de cada arco
+     * @param semilla semilla de los arcos aleatorios
+     * @return la operacion, null si el nombre no es valido
+     * @throws IOException si no se pudo crear el archivo de entrada de Main
+     */
+    public static Operacion operacion(String nombre, int n, double densidad, long semilla)
+	throws IOException {
+	if (nombre.equals("Main")) {
+	    return operacionMain(n, densidad, semilla);
+	}
+	int punto = nombre.indexOf('.');
+	if (punto<0) {
+	    return null;
+	}
+	String tipo = nombre.substring(0, punto);
+	String metodo = nombre.substring(punto+1);
+	if (tipo.equals("Lista") || tipo.equals("ListaArreglo")) {
+	    return operacionLista(tipo, metodo, n);
+	}
+	if (!tipo.equals("DiGraphMatrix") && !tipo.equals("DiGraphBitMatrix")
+	    && !tipo.equals("DiGraphList") && !tipo.equals("DiGraphCSR")) {
+	    return null;
+	}
+	int arcos[][] = arcosAleatorios(n, densidad, semilla);
+	return operacionGrafo(tipo, metodo, n, arcos, construir(tipo, n, arcos));
+    }
+
+    /**
+     * Corre la operacion repeticiones veces, despues de igual numero de
+     * corridas de calentamiento, y agrega el resultado al JSON. Antes de
+     * cada corrida se llama a op.preparar(), fuera del tiempo medido.
+     *
+     * @param nombre nombre de la medicion
+     */
+    private void medir(String nombre, int n, double densidad, Operacion op) throws Exception {
+	for (int i=0; i<repeticiones; i++) {
+	    op.preparar();
+	    sumidero += op.correr();
+	}
+	long minimo = Long.MAX_VALUE;
+	long total = 0;
+	for (int i=0; i<repeticiones; i++) {
+	    op.preparar();
+	    long ini = System.nanoTime();
+	    sumidero += op.correr();
+	    long tiempo = System.nanoTime() - ini;
+	    minimo = Math.min(minimo, tiempo);
+	    total += tiempo;
+	}
+	double promedio = (double) total / repeticiones;
+	int ops = Math.max(1, op.getOperaciones());
+
+	json.append(primero ? "\n" : ",\n");
+	primero = false;
+	json.append("    {\"medicion\": \"").append(nombre)
+	    .append("\", \"n\": ").append(n)
+	    .append(", \"densidad\": ").append(densidad)
+	    .append(", \"promedioNs\": ").append((long) promedio)
+	    .append(", \"minimoNs\": ").append(minimo)
+	    .append(", \"nsPorOperacion\": ").append((long) (promedio / ops))
+	    .append("}");
+    }
+
+}
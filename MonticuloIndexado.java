@@ -0,0 +1,200 @@
+/**
+ * MonticuloIndexado es un monticulo binario de minimos sobre los enteros
+ * 0..capacidad-1, cada uno con una clave double. Guarda los ids y las
+ * claves en arreglos primitivos, sin crear objetos por elemento, y
+ * recuerda la posicion de cada id en el monticulo para poder disminuir
+ * su clave en O(log n).
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class MonticuloIndexado {
+
+    // monticulo[i] es el id en la posicion i; sus hijos estan en 2i+1 y
+    // 2i+2
+    private final int monticulo[];
+    // posicion[id] es la posicion de id en monticulo, -1 si no esta
+    private final int posicion[];
+    private final double clave[];
+    private int tam = 0;
+
+    /**
+     * Crea un monticulo vacio para los ids 0..capacidad-1
+     *
+     * @param capacidad numero de ids posibles
+     */
+    public MonticuloIndexado(int capacidad) {
+	monticulo = new int[capacidad];
+	posicion = new int[capacidad];
+	clave = new double[capacidad];
+	java.util.Arrays.fill(posicion, -1);
+    }
+
+    /**
+     * Indica si el monticulo no tiene elementos
+     *
+     * @return true si size()==0
+     */
+    public boolean isEmpty() {
+	return tam==0;
+    }
+
+    /**
+     * Retorna el numero de elementos del monticulo
+     *
+     * @return el numero de elementos
+     */
+    public int size() {
+	return tam;
+    }
+
+    /**
+     * Indica si id esta en el monticulo
+     *
+     * @param id el id
+     * @return true si id esta en el monticulo
+     */
+    public boolean contains(int id) {
+	return id>=0 && id<posicion.length && posicion[id]>=0;
+    }
+
+    /**
+     * Agrega id con la clave dada, o disminuye su clave si ya estaba y la
+     * nueva es menor
+     *
+     * @param id el id, entre 0 y capacidad-1
+     * @param c la clave
+     * @return true si id se agrego o su clave disminuyo, false si ya
+     * tenia una clave menor o igual o id no es valido
+     */
+    public boolean insertar(int id, double c) {
+	if (id<0 || id>=posicion.length) {
+	    return false;
+	}
+	if (posicion[id]>=0) {
+	    return this.disminuir(id, c);
+	}
+	clave[id] = c;
+	monticulo[tam] = id;
+	posicion[id] = tam;
+	this.subir(tam++);
+	return true;
+    }
+
+    /**
+     * Disminuye la clave de un id que esta en el monticulo
+     *
+     * @param id el id
+     * @param c la nueva clave
+     * @return true si la clave disminuyo, false si id no esta en el
+     * monticulo o c no es menor que su clave actual
+     */
+    public boolean disminuir(int id, double c) {
+	if (!this.contains(id) || !(c < clave[id])) {
+	    return false;
+	}
+	clave[id] = c;
+	this.subir(posicion[id]);
+	return true;
+    }
+
+    /**
+     * Retorna el id de menor clave sin sacarlo
+     *
+     * @return el id de menor clave, -1 si el monticulo esta vacio
+     */
+    public int min() {
+	return tam==0 ? -1 : monticulo[0];
+    }
+
+    /**
+     * Retorna la clave de un id que esta en el monticulo
+     *
+     * @param id el id
+     * @return su clave, NaN si id no esta en el monticulo
+     */
+    public double getClave(int id) {
+	return this.contains(id) ? clave[id] : Double.NaN;
+    }
+
+    /**
+     * Saca del monticulo el id de menor clave
+     *
+     * @return el id de menor clave, -1 si el monticulo esta vacio
+     */
+    public int extraerMin() {
+	if (tam==0) {
+	    return -1;
+	}
+	int min = monticulo[0];
+	posicion[min] = -1;
+	tam--;
+	if (tam>0) {
+	    monticulo[0] = monticulo[tam];
+	    posicion[monticulo[0]] = 0;
+	    this.bajar(0);
+	}
+	return min;
+    }
+
+    /**
+     * Vacia el monticulo en tiempo proporcional a su tamaño
+     */
+    public void clear() {
+	for (int i=0; i<tam; i++) {
+	    posicion[monticulo[i]] = -1;
+	}
+	tam = 0;
+    }
+
+    /**
+     * Sube el elemento en la posicion i mientras su clave sea menor que la
+     * de su padre
+     */
+    private void subir(int i) {
+	int id = monticulo[i];
+	double c = clave[id];
+	while (i>0) {
+	    int padre = (i-1) >>> 1;
+	    int idPadre = monticulo[padre];
+	    if (!(c < clave[idPadre])) {
+		break;
+	    }
+	    monticulo[i] = idPadre;
+	    posicion[idPadre] = i;
+	    i = padre;
+	}
+	monticulo[i] = id;
+	posicion[id] = i;
+    }
+
+    /**
+     * Baja el elemento en la posicion i mientras algun hijo tenga una
+     * clave menor
+     */
+    private void bajar(int i) {
+	int id = monticulo[i];
+	double c = clave[id];
+	while (true) {
+	    int hijo = 2*i+1;
+	    if (hijo>=tam) {
+		break;
+	    }
+	    if (hijo+1<tam && clave[monticulo[hijo+1]] < clave[monticulo[hijo]]) {
+		hijo++;
+	    }
+	    int idHijo = monticulo[hijo];
+	    if (!(clave[idHijo] < c)) {
+		break;
+	    }
+	    monticulo[i] = idHijo;
+	    posicion[idHijo] = i;
+	    i = hijo;
+	}
+	monticulo[i] = id;
+	posicion[id] = i;
+    }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * ReduccionTransitiva calcula la reduccion transitiva de un DiGraph: en
+ * un grafo aciclico, el menor subgrafo con la misma relacion de alcance.
+ * En el contexto de Main, son los arcos de prerequisitos inmediatos.
+ *
+ * Los nodos se recorren en orden topologico inverso, manteniendo para
+ * cada uno un conjunto de bits con los nodos que alcanza. Los sucesores
+ * de v se visitan del mas cercano al mas lejano en el orden topologico;
+ * un sucesor que ya esta en el alcance acumulado de v es transitivo y
+ * su arco se descarta. No se construye ni se clona la clausura completa.
+ *
+ * Si el grafo tiene ciclos (correquisitos), la reduccion se hace sobre el
+ * grafo de condensacion de sus componentes fuertemente conexas. Un arco
+ * (u,v) del grafo original se conserva si u y v estan en la misma
+ * componente, o si el arco entre sus componentes sobrevive a la
+ * reduccion de la condensacion.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class ReduccionTransitiva {
+
+    private ReduccionTransitiva() {
+    }
+
+    /**
+     * Calcula el orden topologico de g con el algoritmo de Kahn. Los
+     * arcos reflexivos se ignoran.
+     *
+     * @param g grafo a ordenar
+     * @return arreglo con los nodos en orden topologico, null si g tiene
+     * algun ciclo
+     */
+    public static int[] ordenTopologico(DiGraph g) {
+	int n = g.getNumberOfNodes();
+	int sucesores[][] = new int[n][];
+	int gradoIn[] = new int[n];
+
+	for (int v=0; v<n; v++) {
+	    sucesores[v] = sucesores(g, v);
+	    for (int j=0; j<sucesores[v].length; j++) {
+		gradoIn[sucesores[v][j]]++;
+	    }
+	}
+
+	int orden[] = new int[n];
+	int ini = 0;
+	int fin = 0;
+	for (int v=0; v<n; v++) {
+	    if (gradoIn[v]==0) {
+		orden[fin++] = v;
+	    }
+	}
+	while (ini<fin) {
+	    int v = orden[ini++];
+	    for (int j=0; j<sucesores[v].length; j++) {
+		int w = sucesores[v][j];
+		if (--gradoIn[w]==0) {
+		    orden[fin++] = w;
+		}
+	    }
+	}
+	return fin==n ? orden : null;
+    }
+
+    /**
+     * Retorna la reduccion transitiva del DiGraph g. Los arcos reflexivos
+     * de g se ignoran, y los ciclos se tratan como se explica en la
+     * descripcion de la clase. El grafo g no se modifica.
+     *
+     * @param g el grafo
+     * @return un DiGraphList con los mismos nodos de g y solo los arcos que
+     * no son implicados por otros caminos, agregados en orden creciente de
+     * nodo fuente.
+     */
+    public static DiGraph reducir(DiGraph g) {
+	int n = g.getNumberOfNodes();
+	int inmediatos[][] = inmediatosAciclico(g);
+	if (inmediatos==null) {
+	    inmediatos = inmediatosConCiclos(g);
+	}
+
+	DiGraph reducido = new DiGraphList(n);
+	for (int v=0; v<n; v++) {
+	    for (int j=0; j<inmediatos[v].length; j++) {
+		reducido.insertArc(v, inmediatos[v][j]);
+	    }
+	}
+	return reducido;
+    }
+
+    /**
+     * Reduccion de un grafo con ciclos a traves de su condensacion
+     *
+     * @return inmediatos[v] son los sucesores de v que se conservan
+     */
+    private static int[][] inmediatosConCiclos(DiGraph g) {
+	int n = g.getNumberOfNodes();
+	ComponentesFuertes componentes = new ComponentesFuertes(g);
+	int entre[][] = inmediatosAciclico(componentes.condensar());
+	for (int c=0; c<entre.length; c++) {
+	    java.util.Arrays.sort(entre[c]);
+	}
+
+	int inmediatos[][] = new int[n][];
+	for (int v=0; v<n; v++) {
+	    int suc[] = sucesores(g, v);
+	    int a = componentes.getComponent(v);
+	    int k = 0;
+	    for (int j=0; j<suc.length; j++) {
+		int b = componentes.getComponent(suc[j]);
+		if (a==b || java.util.Arrays.binarySearch(entre[a], b) >= 0) {
+		    suc[k++] = suc[j];
+		}
+	    }
+	    inmediatos[v] = java.util.Arrays.copyOf(suc, k);
+	}
+	return inmediatos;
+    }
+
+    /**
+     * Reduccion de un grafo aciclico en orden topologico inverso
+     *
+     * @return inmediatos[v] son los sucesores de v que se conservan, null
+     * si g tiene algun ciclo
+     */
+    private static int[][] inmediatosAciclico(DiGraph g) {
+	int n = g.getNumberOfNodes();
+	int orden[] = ordenTopologico(g);
+	if (orden==null) {
+	    return null;
+	}
+
+	int posicion[] = new int[n];
+	for (int i=0; i<n; i++) {
+	    posicion[orden[i]] = i;
+	}
+
+	int sucesores[][] = new int[n][];
+	int pendientes[] = new int[n];
+	for (int v=0; v<n; v++) {
+	    sucesores[v] = sucesores(g, v);
+	    ordenarPorPosicion(sucesores[v], sucesores[v].length, posicion);
+	    for (int j=0; j<sucesores[v].length; j++) {
+		pendientes[sucesores[v][j]]++;
+	    }
+	}
+
+	int palabras = (n+63)>>>6;
+	long alcance[][] = new long[n][];
+	int inmediatos[][] = new int[n][];
+
+	for (int i=n-1; i>=0; i--) {
+	    int v = orden[i];
+	    long fila[] = new long[palabras];
+	    fila[v>>>6] |= 1L << v;
+	    int suc[] = sucesores[v];
+	    int conservados = 0;
+
+	    for (int j=0; j<suc.length; j++) {
+		int w = suc[j];
+		if ((fila[w>>>6] & (1L << w)) == 0) {
+		    long filaW[] = alcance[w];
+		    for (int p=0; p<palabras; p++) {
+			fila[p] |= filaW[p];
+		    }
+		    suc[conservados++] = w;
+		}
+		// Cuando todos los predecesores de w fueron procesados su
+		// alcance ya no se necesita
+		if (--pendientes[w]==0) {
+		    alcance[w] = null;
+		}
+	    }
+	    alcance[v] = fila;
+	    sucesores[v] = null;
+	    if (pendientes[v]==0) {
+		alcance[v] = null;
+	    }
+	    int aux[] = new int[conservados];
+	    System.arraycopy(suc, 0, aux, 0, conservados);
+	    inmediatos[v] = aux;
+	}
+	return inmediatos;
+    }
+
+    /**
+     * Retorna los sucesores del nodo v en g, omitiendo al mismo v.
+     */
+    private static int[] sucesores(DiGraph g, int v) {
+	int suc[] = new int[g.getOutDegree(v)];
+	int tam = g.getSucesors(v, suc);
+	int k = 0;
+	for (int i=0; i<tam; i++) {
+	    if (suc[i]!=v) {
+		suc[k++] = suc[i];
+	    }
+	}
+	if (k==suc.length) {
+	    return suc;
+	}
+	int aux[] = new int[k];
+	System.arraycopy(suc, 0, aux, 0, k);
+	return aux;
+    }
+
+    /**
+     * Ordena los primeros tam nodos de a de forma creciente segun
+     * posicion[nodo]. Las listas cortas, que son las usuales, se ordenan
+     * por insercion.
+     */
+    static void ordenarPorPosicion(int a[], int tam, int posicion[]) {
+	if (tam > 32) {
+	    long claves[] = new long[tam];
+	    for (int i=0; i<tam; i++) {
+		claves[i] = ((long) posicion[a[i]] << 32) | a[i];
+	    }
+	    java.util.Arrays.sort(claves);
+	    for (int i=0; i<tam; i++) {
+		a[i] = (int) claves[i];
+	    }
+	    return;
+	}
+	for (int i=1; i<tam; i++) {
+	    int nodo = a[i];
+	    int j = i-1;
+	    while (j>=0 && posicion[a[j]] > posicion[nodo]) {
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = nodo;
+	}
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Semianillo define las operaciones con las que MatrizSemianillo calcula
+ * la clausura de un grafo con pesos. Cada constante da el cero (sin
+ * camino), el uno (camino vacio) y como se combina un camino i-&gt;k-&gt;j
+ * con el mejor camino i-&gt;j conocido:
+ * <ul>
+ * <li>BOOLEANO: alcance. Los valores son 0 o 1 y los pesos se ignoran.</li>
+ * <li>MIN_PLUS: costo del camino mas corto, sumando costos.</li>
+ * <li>MAX_PLUS: costo del camino mas largo, sumando costos. Solo tiene
+ * sentido si el grafo no tiene ciclos de costo positivo.</li>
+ * </ul>
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public enum Semianillo {
+
+    BOOLEANO {
+	public double cero() {
+	    return 0;
+	}
+	public double uno() {
+	    return 1;
+	}
+	public double peso(double costo) {
+	    return 1;
+	}
+	public double sumar(double a, double b) {
+	    return a!=0 || b!=0 ? 1 : 0;
+	}
+	void relajar(double filaI[], double aik, double filaK[], int ini, int fin) {
+	    for (int j=ini; j<fin; j++) {
+		if (filaK[j]!=0) {
+		    filaI[j] = 1;
+		}
+	    }
+	}
+	boolean cicloInvalido(double diagonal) {
+	    return false;
+	}
+    },
+
+    MIN_PLUS {
+	public double cero() {
+	    return Double.POSITIVE_INFINITY;
+	}
+	public double uno() {
+	    return 0;
+	}
+	public double peso(double costo) {
+	    return costo;
+	}
+	public double sumar(double a, double b) {
+	    return Math.min(a, b);
+	}
+	void relajar(double filaI[], double aik, double filaK[], int ini, int fin) {
+	    for (int j=ini; j<fin; j++) {
+		double c = aik + filaK[j];
+		if (c < filaI[j]) {
+		    filaI[j] = c;
+		}
+	    }
+	}
+	boolean cicloInvalido(double diagonal) {
+	    return diagonal < 0;
+	}
+    },
+
+    MAX_PLUS {
+	public double cero() {
+	    return Double.NEGATIVE_INFINITY;
+	}
+	public double uno() {
+	    return 0;
+	}
+	public double peso(double costo) {
+	    return costo;
+	}
+	public double sumar(double a, double b) {
+	    return Math.max(a, b);
+	}
+	void relajar(double filaI[], double aik, double filaK[], int ini, int fin) {
+	    for (int j=ini; j<fin; j++) {
+		double c = aik + filaK[j];
+		if (c > filaI[j]) {
+		    filaI[j] = c;
+		}
+	    }
+	}
+	boolean cicloInvalido(double diagonal) {
+	    return diagonal > 0;
+	}
+    };
+
+    /**
+     * Retorna el valor de un par de nodos sin camino entre ellos
+     *
+     * @return el neutro de sumar
+     */
+    public abstract double cero();
+
+    /**
+     * Retorna el valor del camino vacio de un nodo a si mismo
+     *
+     * @return el neutro de la concatenacion de caminos
+     */
+    public abstract double uno();
+
+    /**
+     * Retorna el valor que toma en la matriz un arco con el costo dado
+     *
+     * @param costo costo del arco
+     * @return valor del arco en este semianillo
+     */
+    public abstract double peso(double costo);
+
+    /**
+     * Escoge entre dos caminos con los mismos extremos
+     *
+     * @param a valor de un camino
+     * @param b valor del otro camino
+     * @return valor del mejor de los dos
+     */
+    public abstract double sumar(double a, double b);
+
+    /**
+     * Para j en [ini, fin), combina en filaI[j] el camino actual con el
+     * camino i-&gt;k-&gt;j, donde aik es el valor de i-&gt;k y filaK[j] el
+     * de k-&gt;j. Precondicion: aik es distinto de cero().
+     */
+    abstract void relajar(double filaI[], double aik, double filaK[], int ini, int fin);
+
+    /**
+     * Indica si el valor de un nodo a si mismo revela un ciclo con el que
+     * la clausura no esta definida
+     */
+    abstract boolean cicloInvalido(double diagonal);
+
+}
@@ -0,0 +1,20 @@
+   /**
+   * VisitanteNodos es una interfaz para recorrer los vecinos de un nodo de
+   * un DiGraph sin construir una lista: el grafo llama a visitar una vez
+   * por cada vecino.
+   *
+   * @author José A. Goncalves y Jennifer Dos Reis
+   * @version 1.0
+   * @since 1.6
+   */
+
+public interface VisitanteNodos {
+
+    /**
+     * Procesa un vecino del nodo que se esta recorriendo.
+     *
+     * @param nodeId identificador del vecino
+     */
+    public void visitar(int nodeId);
+
+}
@@ -0,0 +1,179 @@
+/**
+ * VistaLista es una vista de solo lectura sobre otra List. No copia los
+ * elementos: cada consulta se responde con la lista original, asi que
+ * crear la vista cuesta tiempo constante y la vista refleja los cambios
+ * que se hagan despues a la lista original.
+ *
+ * Los metodos que modificarian la lista no la alteran y retornan false o
+ * null, segun el caso. clear() no tiene valor de retorno con el que
+ * avisar, asi que lanza UnsupportedOperationException. Para obtener una
+ * lista independiente que si se pueda modificar se usa clone().
+ *
+ * Solo la lista es de solo lectura: los elementos son los mismos objetos
+ * de la lista original. En las vistas de arcos de un grafo, cambiar el
+ * costo de un Arc obtenido de la vista con setCost cambia el arco del
+ * grafo.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+public class VistaLista <E> implements List <E> {
+
+    private final List<E> lista;
+
+    /**
+     * Crea una vista de solo lectura sobre lista
+     *
+     * @param lista la lista original. Debe ser distinta de null
+     */
+    public VistaLista(List<E> lista) {
+	this.lista = lista;
+    }
+
+    /**
+     * No agrega el elemento: la vista es de solo lectura.
+     *
+     * @param element elemento a agregar
+     * @return false
+     */
+    public boolean add(E element) {
+	return false;
+    }
+
+    /**
+     * No agrega el elemento: la vista es de solo lectura.
+     *
+     * @param index posicion del elemento
+     * @param element elemento a agregar
+     * @return false
+     */
+    public boolean add(int index, E element) {
+	return false;
+    }
+
+    /**
+     * No vacia la lista: la vista es de solo lectura.
+     *
+     * @throws UnsupportedOperationException siempre
+     */
+    public void clear() {
+	throw new UnsupportedOperationException("VistaLista es de solo lectura");
+    }
+
+    /**
+     * Retorna una copia modificable de los elementos actuales de la
+     * lista original, independiente de ella.
+     *
+     * @return una ListaArreglo con los mismos elementos
+     */
+    @Override
+    public List<E> clone() {
+	int tam = lista.size();
+	ListaArreglo<E> copia = new ListaArreglo<E>(tam);
+	for (int i=0; i<tam; i++) {
+	    copia.add(lista.get(i));
+	}
+	return copia;
+    }
+
+    /**
+     * Determina si el objeto <i>o</i> esta en la lista original
+     *
+     * @param o el objeto
+     * @return true si la lista original contiene a o
+     */
+    public boolean contains(Object o) {
+	return lista.contains(o);
+    }
+
+    /**
+     * Determina si la lista original es igual a <i>o</i>
+     *
+     * @param o la lista con la que se compara
+     * @return true si la lista original tiene los mismos elementos que o,
+     * en el mismo orden
+     */
+    public boolean equals(List<E> o) {
+	return lista.equals(o);
+    }
+
+    /**
+     * Devuelve el elemento en la posicion index de la lista original
+     *
+     * @param index posicion del elemento
+     * @return el elemento, null si index no es una posicion valida
+     */
+    public E get(int index) {
+	return lista.get(index);
+    }
+
+    /**
+     * Determina la posicion de <i>o</i> en la lista original
+     *
+     * @param o el objeto
+     * @return la posicion de o, -1 si no esta
+     */
+    public int indexOf(Object o) {
+	return lista.indexOf(o);
+    }
+
+    /**
+     * Determina si la lista original no tiene elementos
+     *
+     * @return true si size()==0
+     */
+    public boolean isEmpty() {
+	return lista.isEmpty();
+    }
+
+    /**
+     * No elimina el elemento: la vista es de solo lectura.
+     *
+     * @param index posicion del elemento
+     * @return null
+     */
+    public E remove(int index) {
+	return null;
+    }
+
+    /**
+     * No elimina el elemento: la vista es de solo lectura.
+     *
+     * @param o el elemento
+     * @return false
+     */
+    public boolean remove(Object o) {
+	return false;
+    }
+
+    /**
+     * Retorna el numero de elementos de la lista original
+     *
+     * @return el numero de elementos
+     */
+    public int size() {
+	return lista.size();
+    }
+
+    /**
+     * Retorna un arreglo nuevo con los elementos de la lista original
+     *
+     * @return arreglo con los elementos, en orden
+     */
+    public Object[] toArray() {
+	return lista.toArray();
+    }
+
+    /**
+     * Retorna la representacion en String de la lista original
+     *
+     * @return la representacion en String de la lista original
+     */
+    @Override
+    public String toString() {
+	return lista.toString();
+    }
+
+}
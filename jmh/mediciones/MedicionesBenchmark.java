@@ -0,0 +1,93 @@
+package mediciones;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH de las operaciones de Mediciones. Cada combinacion de
+ * medicion, n y densidad es un benchmark; el puntaje es el tiempo de una
+ * corrida completa, que hace Mediciones.Operacion.getOperaciones()
+ * operaciones (m arcos para los grafos, n elementos para las listas).
+ * Las listas no dependen de la densidad.
+ *
+ * JMH no admite benchmarks en el paquete por omision, y desde un paquete
+ * con nombre no se pueden nombrar las clases del proyecto; por eso la
+ * operacion se obtiene por reflexion una sola vez por corrida de JMH y
+ * despues se usa como un Callable. preparar() se llama antes de cada
+ * invocacion, fuera del tiempo medido.
+ *
+ * @author José A. Goncalves y Jennifer Dos Reis
+ * @version 1.0
+ * @since 1.6
+**/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MedicionesBenchmark {
+
+    @Param({"DiGraphMatrix.royWarshall", "DiGraphMatrix.addArc",
+	    "DiGraphMatrix.isArc", "DiGraphMatrix.delArc",
+	    "DiGraphBitMatrix.royWarshall", "DiGraphBitMatrix.addArc",
+	    "DiGraphBitMatrix.isArc", "DiGraphBitMatrix.delArc",
+	    "DiGraphList.royWarshall", "DiGraphList.addArc",
+	    "DiGraphList.isArc", "DiGraphList.delArc",
+	    "DiGraphCSR.royWarshall", "Main",
+	    "Lista.add", "Lista.get", "Lista.contains", "Lista.remove",
+	    "ListaArreglo.add", "ListaArreglo.get", "ListaArreglo.contains",
+	    "ListaArreglo.remove"})
+    public String medicion;
+
+    @Param({"100", "500"})
+    public int n;
+
+    @Param({"0.01", "0.05"})
+    public double densidad;
+
+    @Param({"1"})
+    public long semilla;
+
+    private Callable<?> operacion;
+    private Method preparar;
+
+    @Setup(Level.Trial)
+    public void crear() throws Exception {
+	Class<?> mediciones = Class.forName("Mediciones");
+	Method fabrica = mediciones.getMethod("operacion", String.class, int.class,
+					      double.class, long.class);
+	Object op = fabrica.invoke(null, medicion, n, densidad, semilla);
+	if (op==null) {
+	    throw new IllegalArgumentException("Medicion desconocida: " + medicion);
+	}
+	operacion = (Callable<?>) op;
+	preparar = Class.forName("Mediciones$Operacion").getMethod("preparar");
+    }
+
+    @Setup(Level.Invocation)
+    public void preparar() throws Exception {
+	preparar.invoke(operacion);
+    }
+
+    @Benchmark
+    public Object correr() throws Exception {
+	return operacion.call();
+    }
+
+}
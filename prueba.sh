@@ -1,22 +1,24 @@
 #!/bin/bash
 
 #Probar los archivos en dimacs
-base=/home/gmljosea/Codigo/Algoritmos3/proyecto2
+#Uso: prueba.sh [directorio_de_casos], por omision ./random
+base=$(cd "$(dirname "$0")" && pwd)
+casos=$(cd "${1:-$base/random}" && pwd)
 
-cd $base/random
+cd $casos
 for i in $(ls)
 do
-	cd $base/random/$i
+	cd $casos/$i
 	for j in $(ls *.input)
 	do
 		nombre=$(echo $j | cut -d . -f 1)
 		#echo $nombre
 		cd $base
-		rm ./random/$i/$nombre.salida
-		touch ./random/$i/$nombre.salida
-		java Main ./random/$i/$nombre.input ./random/$i/$nombre.salida 2> ./random/$i/$nombre.salida
-		sort ./random/$i/$nombre.output >> ordenado
-		sort ./random/$i/$nombre.salida >> ordenado2
+		rm $casos/$i/$nombre.salida
+		touch $casos/$i/$nombre.salida
+		java Main $casos/$i/$nombre.input $casos/$i/$nombre.salida 2> $casos/$i/$nombre.salida
+		sort $casos/$i/$nombre.output >> ordenado
+		sort $casos/$i/$nombre.salida >> ordenado2
 		if (diff ordenado ordenado2 >> /dev/null)
 		then
 			echo "Exito en el caso $nombre"